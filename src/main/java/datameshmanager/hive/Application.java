@@ -2,17 +2,20 @@ package datameshmanager.hive;
 
 import datameshmanager.sdk.DataMeshManagerAssetsSynchronizer;
 import datameshmanager.sdk.DataMeshManagerClient;
+import datameshmanager.sdk.DataMeshManagerStateRepository;
 import datameshmanager.sdk.DataMeshManagerStateRepositoryRemote;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.Bean;
-import org.springframework.core.task.SimpleAsyncTaskExecutor;
-import org.springframework.core.task.TaskExecutor;
 import org.springframework.scheduling.annotation.EnableScheduling;
 
+import java.nio.file.Path;
+import java.time.Duration;
+
 @SpringBootApplication(scanBasePackages = "datameshmanager")
 @ConfigurationPropertiesScan("datameshmanager")
 @EnableScheduling
@@ -28,30 +31,96 @@ public class Application {
         return new DataMeshManagerClient(host, apiKey);
     }
 
+    @Bean
+    @ConditionalOnProperty(value = "datameshmanager.client.hive.assets.enabled", havingValue = "true")
+    public DataMeshManagerStateRepository dataMeshManagerStateRepository(
+            HiveProperties hiveProperties,
+            DataMeshManagerClient client) {
+        var connectorId = hiveProperties.assets().connectorid();
+        var remoteStateRepository = new DataMeshManagerStateRepositoryRemote(connectorId, client);
+        var state = hiveProperties.assets().state();
+        if (state == null || state.localPath() == null || state.localPath().isBlank()) {
+            return remoteStateRepository;
+        }
+        var flushInterval = state.flushInterval() != null ? state.flushInterval() : Duration.ofMinutes(1);
+        return new DataMeshManagerStateRepositoryLocal(Path.of(state.localPath()), remoteStateRepository, flushInterval);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "datameshmanager.client.hive.assets.enabled", havingValue = "true")
+    public HiveAssetsSupplier hiveAssetsSupplier(
+            HiveProperties hiveProperties,
+            DataMeshManagerStateRepository stateRepository,
+            SyncProfiler syncProfiler,
+            CatalogIndex catalogIndex,
+            MeterRegistry meterRegistry) {
+        return new HiveAssetsSupplier(hiveProperties, stateRepository, syncProfiler, catalogIndex, meterRegistry);
+    }
+
     @Bean(destroyMethod = "stop")
     @ConditionalOnProperty(value = "datameshmanager.client.hive.assets.enabled", havingValue = "true")
     public DataMeshManagerAssetsSynchronizer dataMeshManagerAssetsSynchronizer(
             HiveProperties hiveProperties,
             DataMeshManagerClient client,
-            TaskExecutor taskExecutor) {
+            HiveAssetsSupplier assetsSupplier) {
         try {
             var connectorId = hiveProperties.assets().connectorid();
-            var stateRepository = new DataMeshManagerStateRepositoryRemote(connectorId, client);
-            var assetsSupplier = new HiveAssetsSupplier(hiveProperties, stateRepository);
             var dataMeshManagerAssetsSynchronizer = new DataMeshManagerAssetsSynchronizer(connectorId, client, assetsSupplier);
             if (hiveProperties.assets().pollinterval() != null) {
                 dataMeshManagerAssetsSynchronizer.setDelay(hiveProperties.assets().pollinterval());
             }
-
-            taskExecutor.execute(dataMeshManagerAssetsSynchronizer::start);
             return dataMeshManagerAssetsSynchronizer;
         } catch (Exception e) {
             return new DataMeshManagerAssetsSynchronizer("test-connector", client, null);
         }
     }
 
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(value = "datameshmanager.client.hive.assets.enabled", havingValue = "true")
+    public HiveSyncScheduler hiveSyncScheduler(
+            HiveProperties hiveProperties,
+            DataMeshManagerAssetsSynchronizer dataMeshManagerAssetsSynchronizer,
+            HiveAssetsSupplier assetsSupplier) {
+        var shutdownTimeout = hiveProperties.assets().shutdownTimeout() != null
+                ? hiveProperties.assets().shutdownTimeout()
+                : Duration.ofSeconds(30);
+        return new HiveSyncScheduler(dataMeshManagerAssetsSynchronizer, assetsSupplier, shutdownTimeout);
+    }
+
+    @Bean(destroyMethod = "stop")
+    @ConditionalOnProperty(value = "datameshmanager.client.hive.assets.enabled", havingValue = "true")
+    public TargetedSyncQueue targetedSyncQueue(
+            HiveProperties hiveProperties,
+            DataMeshManagerClient client,
+            HiveAssetsSupplier assetsSupplier) {
+        var targetedSync = hiveProperties.assets().targetedSync();
+        var debounce = targetedSync != null && targetedSync.debounce() != null
+                ? targetedSync.debounce()
+                : Duration.ofSeconds(2);
+        return new TargetedSyncQueue(assetsSupplier, new DataMeshManagerAssetsPublisher(client), debounce);
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = "datameshmanager.client.hive.assets.enabled", havingValue = "true")
+    public TargetedSyncEndpoint targetedSyncEndpoint(TargetedSyncQueue targetedSyncQueue) {
+        return new TargetedSyncEndpoint(targetedSyncQueue);
+    }
+
+    @Bean
+    public SyncProfiler syncProfiler(HiveProperties hiveProperties) {
+        var profiling = hiveProperties.assets().profiling();
+        int history = profiling != null && profiling.history() != null ? profiling.history() : 10;
+        int topTables = profiling != null && profiling.topTables() != null ? profiling.topTables() : 20;
+        return new SyncProfiler(history, topTables);
+    }
+
+    @Bean
+    public SyncProfileEndpoint syncProfileEndpoint(SyncProfiler syncProfiler) {
+        return new SyncProfileEndpoint(syncProfiler);
+    }
+
     @Bean
-    public SimpleAsyncTaskExecutor taskExecutor() {
-        return new SimpleAsyncTaskExecutor();
+    public CatalogIndex catalogIndex() {
+        return new CatalogIndex();
     }
 }
\ No newline at end of file
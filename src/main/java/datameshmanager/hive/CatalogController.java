@@ -0,0 +1,72 @@
+package datameshmanager.hive;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * Read-only lookups in the catalog of the last completed synchronization cycle.
+ *
+ * Results reflect the catalog as of syncedAt and never query Hive.
+ */
+@RestController
+@RequestMapping("/api/catalog")
+public class CatalogController {
+
+  static final int MAX_PAGE_SIZE = 500;
+
+  private final CatalogIndex catalogIndex;
+
+  public CatalogController(CatalogIndex catalogIndex) {
+    this.catalogIndex = catalogIndex;
+  }
+
+  public record TablePage(long syncedAt, int page, int size, int total, List<CatalogSnapshot.Table> tables) {
+  }
+
+  /**
+   * Lists the tables matching all given criteria, ordered by qualified name.
+   *
+   * @param prefix   prefix of the qualified name, e.g. "sales." or "sales.ord"
+   * @param column   name of a column the tables must have
+   * @param location substring of the table location, e.g. "/warehouse/sales.db/"
+   */
+  @GetMapping("/tables")
+  public TablePage findTables(
+      @RequestParam(required = false) String prefix,
+      @RequestParam(required = false) String column,
+      @RequestParam(required = false) String location,
+      @RequestParam(defaultValue = "0") int page,
+      @RequestParam(defaultValue = "50") int size) {
+    if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+          "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE);
+    }
+    CatalogSnapshot snapshot = catalogIndex.getCurrent();
+    List<CatalogSnapshot.Table> tables = snapshot.find(blankToNull(prefix), blankToNull(column),
+        blankToNull(location));
+    int from = (int) Math.min((long) page * size, tables.size());
+    int to = Math.min(from + size, tables.size());
+    return new TablePage(snapshot.getSyncedAt(), page, size, tables.size(), tables.subList(from, to));
+  }
+
+  @GetMapping("/tables/{databaseName}/{tableName}")
+  public CatalogSnapshot.Table getTable(@PathVariable String databaseName, @PathVariable String tableName) {
+    CatalogSnapshot.Table table = catalogIndex.getCurrent().get(databaseName, tableName);
+    if (table == null) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND,
+          "Table " + databaseName + "." + tableName + " is not in the catalog");
+    }
+    return table;
+  }
+
+  private static String blankToNull(String value) {
+    return value == null || value.isBlank() ? null : value.trim();
+  }
+}
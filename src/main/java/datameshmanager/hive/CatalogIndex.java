@@ -0,0 +1,125 @@
+package datameshmanager.hive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import datameshmanager.sdk.DataMeshManagerAssetsProvider.AssetCallback;
+import datameshmanager.sdk.client.model.Asset;
+import datameshmanager.sdk.client.model.AssetColumnsInner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the catalog of the last completed synchronization cycle for local lookups, so that
+ * tools can find tables without querying HiveServer2.
+ *
+ * A cycle collects its tables while publishing them and swaps in the new snapshot only when
+ * it completes, so readers never see a partially synchronized catalog.
+ */
+public class CatalogIndex {
+
+  private static final Logger log = LoggerFactory.getLogger(CatalogIndex.class);
+
+  private static final Pattern RAW_LOCATION = Pattern.compile("\\blocation:([^,)\\s]+)");
+
+  private volatile CatalogSnapshot current = CatalogSnapshot.EMPTY;
+
+  public CatalogSnapshot getCurrent() {
+    return current;
+  }
+
+  /**
+   * Wraps the callback of a cycle so that all tables published through it are collected.
+   */
+  public Collector collect(AssetCallback callback) {
+    return new Collector(callback, new CatalogSnapshot.Builder());
+  }
+
+  /**
+   * Replaces the current snapshot with the tables collected by a completed cycle.
+   */
+  public void complete(Collector collector) {
+    CatalogSnapshot snapshot = collector.builder.build(System.currentTimeMillis());
+    current = snapshot;
+    log.info("Catalog index updated with {} tables", snapshot.size());
+  }
+
+  public static class Collector implements AssetCallback {
+
+    private final AssetCallback delegate;
+    private final CatalogSnapshot.Builder builder;
+
+    private Collector(AssetCallback delegate, CatalogSnapshot.Builder builder) {
+      this.delegate = delegate;
+      this.builder = builder;
+    }
+
+    /**
+     * Continues collecting into the same catalog through another callback, for a cycle that
+     * resumes a cycle stopped at a checkpoint.
+     */
+    public Collector continueWith(AssetCallback delegate) {
+      return new Collector(delegate, builder);
+    }
+
+    @Override
+    public void onAssetUpdated(Asset asset) {
+      delegate.onAssetUpdated(asset);
+      if (asset.getInfo() == null || !"hive_table".equals(asset.getInfo().getType())) {
+        return;
+      }
+      Map<String, Object> properties = asset.getProperties();
+      Object databaseName = properties != null ? properties.get("database") : null;
+      if (databaseName == null) {
+        return;
+      }
+      List<CatalogSnapshot.Column> columns = new ArrayList<>();
+      if (asset.getColumns() != null) {
+        for (AssetColumnsInner column : asset.getColumns()) {
+          columns.add(new CatalogSnapshot.Column(column.getName(), column.getType()));
+        }
+      }
+      synchronized (builder) {
+        builder.add(databaseName.toString(), asset.getInfo().getName(), location(properties), columns);
+      }
+    }
+
+    @Override
+    public void onAssetDeleted(String assetId) {
+      delegate.onAssetDeleted(assetId);
+    }
+  }
+
+  /**
+   * Finds the table location in the detailed table information, wherever the extraction put it:
+   * top-level for the sys views and the metastore, in the storage descriptor for DESCRIBE
+   * EXTENDED, or only in the raw string.
+   */
+  static String location(Map<String, Object> properties) {
+    if (properties.get("detailedTableInfo") instanceof JsonNode json) {
+      String location = findLocation(json);
+      if (location == null && json.get("sd") != null) {
+        location = findLocation(json.get("sd"));
+      }
+      return location;
+    }
+    if (properties.get("detailedTableInfoRaw") instanceof String raw) {
+      Matcher matcher = RAW_LOCATION.matcher(raw);
+      return matcher.find() ? matcher.group(1) : null;
+    }
+    return null;
+  }
+
+  private static String findLocation(JsonNode json) {
+    for (Map.Entry<String, JsonNode> field : json.properties()) {
+      if (field.getKey().trim().equalsIgnoreCase("location") && field.getValue().isTextual()) {
+        return field.getValue().asText().trim();
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,167 @@
+package datameshmanager.hive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable, compact index of the tables of one completed synchronization cycle.
+ *
+ * Tables are kept sorted by qualified name, so prefix lookups are a binary search. Column
+ * names map to the ordinals of the tables that contain them. Lookups are case-insensitive,
+ * like Hive identifiers.
+ */
+public class CatalogSnapshot {
+
+  public static final CatalogSnapshot EMPTY = new CatalogSnapshot(new Table[0], Map.of(), 0);
+
+  private final Table[] tables;
+  private final Map<String, int[]> tablesByColumn;
+  private final long syncedAt;
+
+  private CatalogSnapshot(Table[] tables, Map<String, int[]> tablesByColumn, long syncedAt) {
+    this.tables = tables;
+    this.tablesByColumn = tablesByColumn;
+    this.syncedAt = syncedAt;
+  }
+
+  public record Table(String databaseName, String tableName, String location, List<Column> columns) {
+
+    public String qualifiedName() {
+      return databaseName + "." + tableName;
+    }
+  }
+
+  public record Column(String name, String type) {
+  }
+
+  public int size() {
+    return tables.length;
+  }
+
+  /**
+   * @return the time the cycle this snapshot was built from completed, 0 if there was none yet
+   */
+  public long getSyncedAt() {
+    return syncedAt;
+  }
+
+  public Table get(String databaseName, String tableName) {
+    String key = (databaseName + "." + tableName).toLowerCase(Locale.ROOT);
+    int i = lowerBound(key);
+    return i < tables.length && key(tables[i]).equals(key) ? tables[i] : null;
+  }
+
+  /**
+   * Finds the tables matching all given criteria, in qualified name order.
+   *
+   * @param prefix   prefix of the qualified name database.table, or null
+   * @param column   name of a column the tables must have, or null
+   * @param location substring of the table location, or null
+   */
+  public List<Table> find(String prefix, String column, String location) {
+    int from = 0;
+    int to = tables.length;
+    if (prefix != null) {
+      String key = prefix.toLowerCase(Locale.ROOT);
+      from = lowerBound(key);
+      to = from;
+      while (to < tables.length && key(tables[to]).startsWith(key)) {
+        to++;
+      }
+    }
+
+    int[] candidates;
+    if (column != null) {
+      int[] ordinals = tablesByColumn.getOrDefault(column.toLowerCase(Locale.ROOT), new int[0]);
+      // ordinals are ascending, so the prefix range can be cut out by binary search as well
+      int start = lowerBound(ordinals, from);
+      int end = lowerBound(ordinals, to);
+      candidates = Arrays.copyOfRange(ordinals, start, end);
+    } else {
+      candidates = new int[to - from];
+      for (int i = 0; i < candidates.length; i++) {
+        candidates[i] = from + i;
+      }
+    }
+
+    List<Table> result = new ArrayList<>();
+    for (int ordinal : candidates) {
+      Table table = tables[ordinal];
+      if (location == null || (table.location() != null && table.location().contains(location))) {
+        result.add(table);
+      }
+    }
+    return result;
+  }
+
+  private int lowerBound(String key) {
+    int low = 0;
+    int high = tables.length;
+    while (low < high) {
+      int mid = (low + high) >>> 1;
+      if (key(tables[mid]).compareTo(key) < 0) {
+        low = mid + 1;
+      } else {
+        high = mid;
+      }
+    }
+    return low;
+  }
+
+  private static int lowerBound(int[] values, int value) {
+    int i = Arrays.binarySearch(values, value);
+    return i >= 0 ? i : -i - 1;
+  }
+
+  private static String key(Table table) {
+    return table.qualifiedName().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Collects the tables of a running cycle. Not thread-safe. A table added twice replaces its
+   * earlier version.
+   */
+  public static class Builder {
+
+    private final TreeMap<String, Table> tables = new TreeMap<>();
+    // the same column names and types repeat across many tables, so share the strings
+    private final Map<String, String> strings = new HashMap<>();
+
+    public Builder add(String databaseName, String tableName, String location, List<Column> columns) {
+      List<Column> compactColumns = columns.stream()
+          .map(column -> new Column(share(column.name()), share(column.type())))
+          .toList();
+      Table table = new Table(databaseName, tableName, location, compactColumns);
+      tables.put(key(table), table);
+      return this;
+    }
+
+    private String share(String value) {
+      return value != null ? strings.computeIfAbsent(value, v -> v) : null;
+    }
+
+    public CatalogSnapshot build(long syncedAt) {
+      Table[] sorted = tables.values().toArray(new Table[0]);
+      Map<String, List<Integer>> ordinalsByColumn = new HashMap<>();
+      for (int i = 0; i < sorted.length; i++) {
+        for (Column column : sorted[i].columns()) {
+          List<Integer> ordinals = ordinalsByColumn.computeIfAbsent(
+              column.name().toLowerCase(Locale.ROOT), k -> new ArrayList<>());
+          // a column name can appear twice, e.g. as regular and partition column
+          if (ordinals.isEmpty() || ordinals.get(ordinals.size() - 1) != i) {
+            ordinals.add(i);
+          }
+        }
+      }
+      Map<String, int[]> tablesByColumn = new HashMap<>();
+      ordinalsByColumn.forEach((column, ordinals) ->
+          tablesByColumn.put(column, ordinals.stream().mapToInt(Integer::intValue).toArray()));
+      return new CatalogSnapshot(sorted, tablesByColumn, syncedAt);
+    }
+  }
+}
@@ -0,0 +1,11 @@
+package datameshmanager.hive;
+
+/**
+ * A column as described by the server, independent of the dialect it was read from.
+ */
+public record ColumnDescription(
+    String name,
+    String type,
+    String comment
+) {
+}
@@ -0,0 +1,28 @@
+package datameshmanager.hive;
+
+import datameshmanager.sdk.DataMeshManagerAssetsProvider.AssetCallback;
+import datameshmanager.sdk.DataMeshManagerClient;
+import datameshmanager.sdk.client.model.Asset;
+
+/**
+ * Publishes assets to Data Mesh Manager outside of the DataMeshManagerAssetsSynchronizer cycle,
+ * for targeted synchronizations.
+ */
+public class DataMeshManagerAssetsPublisher implements AssetCallback {
+
+  private final DataMeshManagerClient client;
+
+  public DataMeshManagerAssetsPublisher(DataMeshManagerClient client) {
+    this.client = client;
+  }
+
+  @Override
+  public void onAssetUpdated(Asset asset) {
+    client.getAssetsApi().addAsset(asset.getId(), asset);
+  }
+
+  @Override
+  public void onAssetDeleted(String assetId) {
+    client.getAssetsApi().deleteAsset(assetId);
+  }
+}
@@ -0,0 +1,189 @@
+package datameshmanager.hive;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import datameshmanager.sdk.DataMeshManagerStateRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A file-backed state repository in front of the remote state repository.
+ *
+ * Reads are served from memory and every save is written to the local file, so state can
+ * grow and change often without an API round trip each time. The remote repository receives
+ * the latest snapshot asynchronously, at most once per flush interval, and serves as the
+ * bootstrap source when the local file is missing, e.g. on a fresh pod.
+ *
+ * Until the remote state was read, saved state is kept in memory only: neither written to the
+ * local file nor flushed, as it would replace the real remote state. The remote read is retried
+ * with every read of the state.
+ *
+ * The local file is replaced atomically after the new content was forced to disk, so a crash
+ * leaves either the old or the new state, never a partial one.
+ */
+public class DataMeshManagerStateRepositoryLocal implements DataMeshManagerStateRepository, AutoCloseable {
+
+  private static final Logger log = LoggerFactory.getLogger(DataMeshManagerStateRepositoryLocal.class);
+  private static final ObjectMapper objectMapper = new ObjectMapper()
+      .enable(DeserializationFeature.USE_LONG_FOR_INTS);
+
+  private final Path file;
+  private final DataMeshManagerStateRepository remote;
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "hive-state-flush");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  // guarded by this
+  private Map<String, Object> state;
+  private boolean dirty;
+  private boolean bootstrapped;
+
+  public DataMeshManagerStateRepositoryLocal(Path file, DataMeshManagerStateRepository remote,
+      Duration flushInterval) {
+    this.file = file;
+    this.remote = remote;
+    load();
+    executor.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(),
+        TimeUnit.MILLISECONDS);
+  }
+
+  @Override
+  public synchronized Map<String, Object> getState() {
+    if (!bootstrapped) {
+      bootstrap();
+    }
+    return new LinkedHashMap<>(state);
+  }
+
+  @Override
+  public synchronized void saveState(Map<String, Object> state) {
+    this.state = new LinkedHashMap<>(state);
+    if (!bootstrapped) {
+      log.debug("Keeping state in memory until the remote state repository can be read");
+      return;
+    }
+    this.dirty = true;
+    try {
+      write(this.state);
+    } catch (IOException e) {
+      // the remote copy still gets the state with the next flush
+      log.error("Could not write state to {}", file, e);
+    }
+  }
+
+  /**
+   * Writes the latest state to the remote repository, if it changed since the last flush.
+   */
+  public void flush() {
+    Map<String, Object> snapshot;
+    synchronized (this) {
+      if (!dirty) {
+        return;
+      }
+      snapshot = new LinkedHashMap<>(state);
+      dirty = false;
+    }
+    try {
+      remote.saveState(snapshot);
+      log.debug("Flushed state to the remote state repository");
+    } catch (RuntimeException e) {
+      log.warn("Could not flush state to the remote state repository, retrying later: {}", e.getMessage());
+      synchronized (this) {
+        dirty = true;
+      }
+    }
+  }
+
+  /**
+   * Stops the background flushes and flushes the latest state one last time.
+   */
+  @Override
+  public void close() {
+    executor.shutdown();
+    try {
+      executor.awaitTermination(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    flush();
+  }
+
+  private void load() {
+    if (Files.exists(file)) {
+      try {
+        Map<String, Object> loaded = objectMapper.readValue(file.toFile(), new TypeReference<>() {
+        });
+        log.info("Loaded state from {}", file);
+        state = new LinkedHashMap<>(loaded);
+        bootstrapped = true;
+        return;
+      } catch (IOException e) {
+        log.warn("Could not read state from {}, bootstrapping from the remote state repository: {}",
+            file, e.getMessage());
+      }
+    }
+    state = new LinkedHashMap<>();
+    bootstrap();
+  }
+
+  /**
+   * Replaces the state with the remote state, if it can be read.
+   */
+  private void bootstrap() {
+    Map<String, Object> remoteState;
+    try {
+      remoteState = remote.getState();
+    } catch (RuntimeException e) {
+      log.warn("Could not read state from the remote state repository, retrying later: {}", e.getMessage());
+      return;
+    }
+    state = remoteState != null ? new LinkedHashMap<>(remoteState) : new LinkedHashMap<>();
+    bootstrapped = true;
+    dirty = false;
+    log.info("Bootstrapped state from the remote state repository");
+    try {
+      write(state);
+    } catch (IOException e) {
+      log.error("Could not write state to {}", file, e);
+    }
+  }
+
+  private void write(Map<String, Object> state) throws IOException {
+    Path directory = file.toAbsolutePath().getParent();
+    if (directory != null) {
+      Files.createDirectories(directory);
+    }
+    Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+    try (FileChannel channel = FileChannel.open(temporaryFile,
+        StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+      ByteBuffer buffer = ByteBuffer.wrap(objectMapper.writeValueAsBytes(state));
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+      channel.force(true);
+    }
+    try {
+      Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+}
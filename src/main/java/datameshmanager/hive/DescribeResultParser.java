@@ -0,0 +1,12 @@
+package datameshmanager.hive;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Turns the result of a dialect-specific DESCRIBE statement into a TableDescription.
+ */
+public interface DescribeResultParser {
+
+  TableDescription parse(String databaseName, String tableName, ResultSet rs) throws SQLException;
+}
@@ -0,0 +1,86 @@
+package datameshmanager.hive;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Caps the size of detailed table information, which can be tens of MB for tables with
+ * many inlined partition and serde parameters.
+ */
+public class DetailedTableInfoLimit {
+
+  public static final DetailedTableInfoLimit UNLIMITED = new DetailedTableInfoLimit(Integer.MAX_VALUE);
+
+  private static final int BUFFER_SIZE = 8192;
+
+  private final int maxChars;
+
+  public DetailedTableInfoLimit(int maxChars) {
+    this.maxChars = maxChars;
+  }
+
+  public int maxChars() {
+    return maxChars;
+  }
+
+  /**
+   * Reads a column of the current row, at most maxChars characters of it.
+   * The column is streamed where the driver supports it, so an oversized value is never
+   * materialized; otherwise it is read as a string and truncated right away.
+   */
+  public Text read(ResultSet rs, String columnLabel) throws SQLException {
+    Reader reader;
+    try {
+      reader = rs.getCharacterStream(columnLabel);
+    } catch (SQLException e) {
+      // e.g. the Hive JDBC driver does not support character streams
+      return truncate(rs.getString(columnLabel));
+    }
+    if (reader == null) {
+      return new Text(null, false);
+    }
+
+    try (reader) {
+      StringBuilder value = new StringBuilder();
+      char[] buffer = new char[BUFFER_SIZE];
+      int read;
+      while ((read = reader.read(buffer, 0, (int) Math.min(BUFFER_SIZE, (long) maxChars + 1 - value.length()))) > 0) {
+        value.append(buffer, 0, read);
+      }
+      return truncate(value.toString());
+    } catch (IOException e) {
+      throw new SQLException("Could not read column " + columnLabel, e);
+    }
+  }
+
+  public Text truncate(String value) {
+    if (value == null || value.length() <= maxChars) {
+      return new Text(value, false);
+    }
+    return new Text(value.substring(0, maxChars), true);
+  }
+
+  /**
+   * Appends as much of the value as still fits.
+   *
+   * @return false if the value was cut
+   */
+  public boolean append(StringBuilder builder, String value) {
+    int remaining = maxChars - builder.length();
+    if (value.length() <= remaining) {
+      builder.append(value);
+      return true;
+    }
+    builder.append(value, 0, Math.max(remaining, 0));
+    return false;
+  }
+
+  /**
+   * @param value     the text, at most maxChars characters long
+   * @param truncated whether the original text was longer
+   */
+  public record Text(String value, boolean truncated) {
+  }
+}
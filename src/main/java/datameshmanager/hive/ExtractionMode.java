@@ -0,0 +1,23 @@
+package datameshmanager.hive;
+
+/**
+ * Enumeration for how the catalog is read from the server.
+ */
+public enum ExtractionMode {
+    /**
+     * List databases and tables and describe every table with DESCRIBE statements.
+     */
+    DESCRIBE,
+
+    /**
+     * Read all tables and columns with a few streaming SELECTs over the Hive 3+ sys views,
+     * falling back to DESCRIBE if they are not available.
+     */
+    SYS_VIEWS,
+
+    /**
+     * Read all tables in batches through the Hive Metastore Thrift API,
+     * falling back to DESCRIBE if the metastore cannot be reached.
+     */
+    METASTORE
+}
@@ -9,11 +9,24 @@ import datameshmanager.sdk.client.model.Asset;
 import datameshmanager.sdk.client.model.AssetColumnsInner;
 import datameshmanager.sdk.client.model.AssetInfo;
 import datameshmanager.sdk.client.model.AssetRelationshipsInner;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.thrift.TException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
 
 import java.sql.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Supplies assets from Hive-compatible systems (Hive, Impala).
@@ -29,83 +42,481 @@ import java.util.Map;
  * - Apache Hive Server2
  * - Apache Impala
  *
+ * The dialect and capabilities of the server are probed once, and the HiveQueryPlanner
+ * chooses the cheapest statements and the matching parser for them.
+ *
  * Note on SQL Injection Protection:
  * - Database and table names are identifiers and cannot be parameterized in prepared statements
- * - They are sanitized and quoted using quoteIdentifier() method
+ * - They are sanitized and quoted using HiveQueryPlanner.quoteIdentifier() method
  * - Any actual parameter values (like LIMIT numbers) use proper prepared statement parameters
  */
 public class HiveAssetsSupplier implements DataMeshManagerAssetsProvider {
 
   private static final Logger log = LoggerFactory.getLogger(HiveAssetsSupplier.class);
   private static final ObjectMapper objectMapper = new ObjectMapper();
+  private static final DataSize DEFAULT_MAX_DETAILED_TABLE_INFO_SIZE = DataSize.ofMegabytes(10);
+  private static final DataSize DEFAULT_MAX_IN_FLIGHT_SIZE = DataSize.ofMegabytes(64);
+  private static final int DEFAULT_TYPE_CACHE_SIZE = 10_000;
 
   private final HiveProperties properties;
   private final DataMeshManagerStateRepository stateRepository;
+  private final SyncProfiler profiler;
+  private final CatalogIndex catalogIndex;
+  private final NameFilter databaseFilter;
+  private final NameFilter tableFilter;
+  private final DetailedTableInfoLimit detailedTableInfoLimit;
+  private final InFlightByteBudget inFlightBudget;
+  private final HiveTypeParser typeParser;
+  private final DistributionSummary detailedTableInfoSize;
+  private final Counter oversizedDetailedTableInfo;
+  private final Counter throttledExtractions;
+
+  private final Counter skippedCycles;
+  private final Counter stoppedCycles;
+
+  private volatile HiveDialectCapabilities capabilities;
+
+  // Cycles run one at a time, the fields below are only used by the cycle holding the lock
+  private final ReentrantLock cycleLock = new ReentrantLock();
+  private CatalogIndex.Collector resumedCatalog;
+  private volatile SyncCycle currentCycle;
+  private volatile boolean stopped;
 
   public HiveAssetsSupplier(HiveProperties properties,
-      DataMeshManagerStateRepository stateRepository) {
+      DataMeshManagerStateRepository stateRepository,
+      SyncProfiler profiler,
+      CatalogIndex catalogIndex,
+      MeterRegistry meterRegistry) {
     this.properties = properties;
     this.stateRepository = stateRepository;
+    this.profiler = profiler;
+    this.catalogIndex = catalogIndex;
+    this.databaseFilter = NameFilter.of(properties.assets().includeDatabases(), properties.assets().excludeDatabases());
+    this.tableFilter = NameFilter.of(properties.assets().includeTables(), properties.assets().excludeTables());
+
+    DataSize maxDetailedTableInfoSize = properties.assets().maxDetailedTableInfoSize() != null
+        ? properties.assets().maxDetailedTableInfoSize()
+        : DEFAULT_MAX_DETAILED_TABLE_INFO_SIZE;
+    DataSize maxInFlightSize = properties.assets().maxInFlightSize() != null
+        ? properties.assets().maxInFlightSize()
+        : DEFAULT_MAX_IN_FLIGHT_SIZE;
+    // Sizes are approximated by characters, which matches bytes for the mostly ASCII metadata
+    this.detailedTableInfoLimit = new DetailedTableInfoLimit((int) Math.min(Integer.MAX_VALUE,
+        maxDetailedTableInfoSize.toBytes()));
+    this.inFlightBudget = new InFlightByteBudget(maxInFlightSize.toBytes());
+    this.typeParser = new HiveTypeParser(properties.assets().typeCacheSize() != null
+        ? properties.assets().typeCacheSize()
+        : DEFAULT_TYPE_CACHE_SIZE);
+
+    this.detailedTableInfoSize = DistributionSummary.builder("hive.detailed.table.info.size")
+        .description("Size of the detailed table information read per table")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    this.oversizedDetailedTableInfo = Counter.builder("hive.detailed.table.info.oversized")
+        .description("Tables whose detailed table information exceeded the maximum size and was truncated")
+        .register(meterRegistry);
+    this.throttledExtractions = Counter.builder("hive.extraction.throttled")
+        .description("Table extractions that waited for the in-flight byte budget")
+        .register(meterRegistry);
+    this.skippedCycles = Counter.builder("hive.sync.cycles.skipped")
+        .description("Synchronization cycles skipped because the previous cycle was still running")
+        .register(meterRegistry);
+    this.stoppedCycles = Counter.builder("hive.sync.cycles.stopped")
+        .description("Synchronization cycles stopped early at a checkpoint, by cancellation or the maximum duration")
+        .register(meterRegistry);
+    FunctionCounter.builder("hive.type.cache.hits", typeParser, HiveTypeParser::getHits)
+        .description("Complex column types found in the parsed type cache")
+        .register(meterRegistry);
+    FunctionCounter.builder("hive.type.cache.misses", typeParser, HiveTypeParser::getMisses)
+        .description("Complex column types that had to be parsed")
+        .register(meterRegistry);
+    Gauge.builder("hive.extraction.in.flight", inFlightBudget, InFlightByteBudget::getInFlightBytes)
+        .description("Bytes of table metadata read but not yet published")
+        .baseUnit("bytes")
+        .register(meterRegistry);
   }
 
   @Override
-  public void fetchAssets(AssetCallback callback) {
-    Long lastUpdatedAt = getLastUpdatedAt();
+  public void fetchAssets(AssetCallback cycleCallback) {
+    if (!cycleLock.tryLock()) {
+      log.warn("Skipping synchronization cycle, the previous cycle is still running");
+      skippedCycles.increment();
+      return;
+    }
+    try {
+      if (stopped) {
+        log.info("Not starting a synchronization cycle, the connector is stopping");
+        return;
+      }
+      runCycle(cycleCallback);
+    } finally {
+      currentCycle = null;
+      cycleLock.unlock();
+    }
+  }
+
+  /**
+   * Stops the running cycle before its next table and prevents new cycles, e.g. on shutdown.
+   * The running cycle saves its checkpoint, so the next start resumes where it stopped.
+   */
+  public void cancel() {
+    stopped = true;
+    SyncCycle cycle = currentCycle;
+    if (cycle != null) {
+      cycle.cancel();
+    }
+  }
+
+  private void runCycle(AssetCallback cycleCallback) {
+    Map<String, Object> state = getState();
     Long currentTimestamp = System.currentTimeMillis();
 
+    SyncCycle cycle = new SyncCycle(properties.assets().maxCycleDuration(), SyncCycle.Checkpoint.fromState(state));
+    currentCycle = cycle;
+    if (cycle.getResumeFrom() != null) {
+      log.info("Resuming synchronization after {}", cycle.getResumeFrom());
+    }
+
+    // A resumed cycle only yields the full catalog if the cycles before it ran in this process
+    boolean completeCatalog = cycle.getResumeFrom() == null || resumedCatalog != null;
+    CatalogIndex.Collector callback = cycle.getResumeFrom() != null && resumedCatalog != null
+        ? resumedCatalog.continueWith(cycleCallback)
+        : catalogIndex.collect(cycleCallback);
+    resumedCatalog = null;
+
+    SyncProfile profile = profiler.startCycle();
+    try {
+      if (extractAssets(callback, cycle, profile)) {
+        state.put("lastUpdatedAt", currentTimestamp);
+        SyncCycle.Checkpoint.clearState(state);
+        stateRepository.saveState(state);
+        if (completeCatalog) {
+          catalogIndex.complete(callback);
+        }
+      }
+    } catch (SyncCycle.Stopped e) {
+      stoppedCycles.increment();
+      SyncCycle.Checkpoint progress = cycle.getProgress();
+      log.info("Synchronization cycle stopped ({}), the next cycle resumes after {}", e.getMessage(), progress);
+      if (progress != null) {
+        progress.toState(state);
+        stateRepository.saveState(state);
+      }
+      resumedCatalog = completeCatalog ? callback : null;
+    } finally {
+      profiler.completeCycle(profile);
+    }
+  }
+
+  /**
+   * @return true if all databases and tables were extracted
+   */
+  private boolean extractAssets(AssetCallback callback, SyncCycle cycle, SyncProfile profile) {
+    if (extractFromMetastore(callback, cycle, profile)) {
+      return true;
+    }
+
+    if (!loadDriver()) {
+      return false;
+    }
+
+    try (Connection connection = openConnection()) {
+
+      log.info("Synchronizing Hive assets from {}", getHost());
+
+      HiveDialectCapabilities capabilities = getCapabilities(connection);
+      if (!extractFromSysViews(connection, capabilities, callback, cycle, profile)) {
+        HiveQueryPlanner planner = createPlanner(capabilities,
+            Boolean.TRUE.equals(properties.assets().bulkDescribe()));
+        extractDatabases(connection, planner, callback, cycle, profile);
+      }
+      return true;
+
+    } catch (SQLException e) {
+      log.error("Error fetching assets from Hive", e);
+      return false;
+    }
+  }
+
+  /**
+   * Synchronizes only the given databases and tables, e.g. right after they were created.
+   * This runs independently of the periodic cycle, with its own connection, and does not
+   * touch the state of the periodic cycle. Targets that do not exist or are excluded by the
+   * configured filters are skipped.
+   */
+  public void fetchTargets(Collection<SyncTarget> targets, AssetCallback callback) {
+    if (!loadDriver()) {
+      return;
+    }
+
+    // targeted runs are not part of the cycle history
+    SyncProfile profile = new SyncProfile(0);
+    try (Connection connection = openConnection()) {
+      HiveQueryPlanner planner = createPlanner(getCapabilities(connection), false);
+
+      Map<String, List<SyncTarget>> targetsByDatabase = new LinkedHashMap<>();
+      for (SyncTarget target : targets) {
+        targetsByDatabase.computeIfAbsent(target.databaseName(), key -> new ArrayList<>()).add(target);
+      }
+
+      for (Map.Entry<String, List<SyncTarget>> entry : targetsByDatabase.entrySet()) {
+        String databaseName = entry.getKey();
+        if (shouldSkipDatabase(databaseName)) {
+          log.warn("Skipping targeted synchronization of database {}, it is excluded", databaseName);
+          continue;
+        }
+
+        // Listing the tables first also verifies the database exists before its asset is published
+        List<String> tableNames;
+        try {
+          tableNames = listTables(connection, planner, databaseName);
+        } catch (SQLException e) {
+          log.warn("Skipping targeted synchronization of database {}: {}", databaseName, e.getMessage());
+          continue;
+        }
+
+        extractDatabaseAsset(databaseName, callback, profile);
+        boolean wholeDatabase = entry.getValue().stream().anyMatch(SyncTarget::isDatabase);
+        for (String tableName : tableNames) {
+          boolean requested = wholeDatabase || entry.getValue().stream()
+              .anyMatch(target -> tableName.equalsIgnoreCase(target.tableName()));
+          if (requested) {
+            extractTableAsset(connection, planner, databaseName, tableName, callback, profile);
+          }
+        }
+        for (SyncTarget target : entry.getValue()) {
+          if (!target.isDatabase() && tableNames.stream().noneMatch(target.tableName()::equalsIgnoreCase)) {
+            log.warn("Skipping targeted synchronization of table {}, it does not exist or is excluded", target);
+          }
+        }
+      }
+    } catch (SQLException e) {
+      log.error("Error fetching targeted assets from Hive", e);
+    } catch (SyncCycle.Stopped e) {
+      log.info("Targeted synchronization stopped: {}", e.getMessage());
+    }
+  }
+
+  private List<String> listTables(Connection connection, HiveQueryPlanner planner, String databaseName)
+      throws SQLException {
+    if (planner.requiresUseDatabase()) {
+      try (PreparedStatement useStmt = prepareStatement(connection, planner.useDatabase(databaseName))) {
+        useStmt.execute();
+      }
+    }
+
+    List<String> tableNames = new ArrayList<>();
+    try (PreparedStatement stmt = prepareStatement(connection, planner.showTables(databaseName, tableFilter));
+        ResultSet rs = stmt.executeQuery()) {
+      while (rs.next()) {
+        String tableName = rs.getString(1);
+        if (!shouldSkipTable(tableName)) {
+          tableNames.add(tableName);
+        }
+      }
+    }
+    return tableNames;
+  }
+
+  private boolean loadDriver() {
     try {
       // Load the JDBC driver class from classpath
       Class.forName(properties.connection().driverClassName());
       log.debug("JDBC driver loaded from classpath: {}", properties.connection().driverClassName());
+      return true;
     } catch (ClassNotFoundException e) {
       log.error("JDBC driver not found: {}. Make sure the driver is included in the classpath using Maven profiles.",
           properties.connection().driverClassName(), e);
-      return;
+      return false;
     }
+  }
 
-    try (Connection connection = DriverManager.getConnection(
+  private Connection openConnection() throws SQLException {
+    return DriverManager.getConnection(
         properties.connection().jdbcUrl(),
         properties.connection().username(),
-        properties.connection().password())) {
+        properties.connection().password());
+  }
 
-      log.info("Synchronizing Hive assets from {}", getHost());
+  private HiveQueryPlanner createPlanner(HiveDialectCapabilities capabilities, boolean bulkDescribe) {
+    return new HiveQueryPlanner(capabilities, properties.assets().detailedTableInfo(), bulkDescribe,
+        detailedTableInfoLimit);
+  }
 
-      extractDatabases(connection, callback);
+  private PreparedStatement prepareStatement(Connection connection, String query) throws SQLException {
+    PreparedStatement stmt = connection.prepareStatement(query);
+    Integer fetchSize = properties.assets().jdbcFetchSize();
+    if (fetchSize != null) {
+      stmt.setFetchSize(fetchSize);
+    }
+    return stmt;
+  }
 
-      setLastUpdatedAt(currentTimestamp);
+  /**
+   * Returns the capabilities of the server, probing them on first use.
+   */
+  private HiveDialectCapabilities getCapabilities(Connection connection) throws SQLException {
+    if (capabilities == null) {
+      String probeDatabase = properties.connection().database();
+      if (probeDatabase == null || probeDatabase.trim().isEmpty()) {
+        probeDatabase = "default";
+      }
+      capabilities = HiveDialectCapabilities.probe(connection, properties.connection().dialect(), probeDatabase);
+    }
+    return capabilities;
+  }
 
-    } catch (SQLException e) {
-      log.error("Error fetching assets from Hive", e);
+  /**
+   * Extracts all databases and tables through the metastore Thrift API, if configured.
+   *
+   * @return false if JDBC must be used instead
+   */
+  private boolean extractFromMetastore(AssetCallback callback, SyncCycle cycle, SyncProfile profile) {
+    if (properties.assets().extractionMode() != ExtractionMode.METASTORE) {
+      return false;
+    }
+    HiveProperties.MetastoreProperties metastore = properties.metastore();
+    if (metastore == null || metastore.host() == null || metastore.host().trim().isEmpty()) {
+      log.warn("No metastore host configured, falling back to DESCRIBE statements");
+      profile.recordFallback("metastore not configured");
+      return false;
+    }
+    int port = metastore.port() != null ? metastore.port() : 9083;
+    int batchSize = metastore.batchSize() != null ? metastore.batchSize() : 100;
+    Duration timeout = metastore.timeout() != null ? metastore.timeout() : Duration.ofSeconds(30);
+
+    log.info("Synchronizing Hive assets from metastore {}:{}", metastore.host(), port);
+
+    // Tables are published while they are fetched, so metastore time is what the consumers don't use
+    long start = System.nanoTime();
+    long[] consumerNanos = new long[1];
+    try (HiveMetastoreClient client = new ThriftHiveMetastoreClient(metastore.host(), port, timeout)) {
+      new HiveMetastoreReader(batchSize, detailedTableInfoLimit).read(client,
+          databaseName -> !shouldSkipDatabase(databaseName) && !cycle.isCompleted(databaseName),
+          (databaseName, tableName) -> !shouldSkipTable(tableName) && !cycle.isCompleted(databaseName, tableName),
+          databaseName -> {
+            cycle.checkContinue();
+            long consumerStart = System.nanoTime();
+            cycle.databaseStarted(databaseName);
+            extractDatabaseAsset(databaseName, callback, profile);
+            consumerNanos[0] += System.nanoTime() - consumerStart;
+          },
+          tableDescription -> {
+            cycle.checkContinue();
+            long consumerStart = System.nanoTime();
+            profile.recordTable();
+            publishTableAssetWithinBudget(tableDescription, callback, profile);
+            cycle.tableCompleted(tableDescription.databaseName(), tableDescription.tableName());
+            consumerNanos[0] += System.nanoTime() - consumerStart;
+          });
+      return true;
+    } catch (TException e) {
+      // Assets already published are updated again by the fallback, which is harmless
+      log.warn("Could not extract assets from the metastore, falling back to DESCRIBE statements: {}",
+          e.getMessage());
+      profile.recordFallback("metastore: " + e.getMessage());
+      return false;
+    } finally {
+      profile.recordMetastore(System.nanoTime() - start - consumerNanos[0]);
     }
   }
 
+  /**
+   * Extracts all databases and tables from the sys views, if configured and available.
+   *
+   * @return false if the DESCRIBE statements must be used instead
+   */
+  private boolean extractFromSysViews(Connection connection, HiveDialectCapabilities capabilities,
+      AssetCallback callback, SyncCycle cycle, SyncProfile profile) {
+    if (properties.assets().extractionMode() != ExtractionMode.SYS_VIEWS) {
+      return false;
+    }
+    if (!capabilities.sysViews()) {
+      log.warn("The sys views are not available on {}, falling back to DESCRIBE statements", getHost());
+      profile.recordFallback("sys views not available");
+      return false;
+    }
 
-  private void extractDatabases(Connection connection, AssetCallback callback) throws SQLException {
-    try (PreparedStatement stmt = connection.prepareStatement("SHOW DATABASES");
-        ResultSet rs = stmt.executeQuery()) {
+    // The rows are streamed while the assets are published, so JDBC time is what the consumers don't use
+    long start = System.nanoTime();
+    long[] consumerNanos = new long[1];
+    try {
+      new HiveSysViewsReader(properties.assets().jdbcFetchSize()).read(connection,
+          databaseName -> {
+            long consumerStart = System.nanoTime();
+            if (!shouldSkipDatabase(databaseName) && !cycle.isCompleted(databaseName)) {
+              cycle.checkContinue();
+              // All databases come before the tables, so only completed tables may advance the checkpoint
+              extractDatabaseAsset(databaseName, callback, profile);
+            }
+            consumerNanos[0] += System.nanoTime() - consumerStart;
+          },
+          tableDescription -> {
+            long consumerStart = System.nanoTime();
+            String databaseName = tableDescription.databaseName();
+            String tableName = tableDescription.tableName();
+            if (!shouldSkipDatabase(databaseName) && !shouldSkipTable(tableName)
+                && !cycle.isCompleted(databaseName, tableName)) {
+              cycle.checkContinue();
+              profile.recordTable();
+              publishTableAssetWithinBudget(tableDescription, callback, profile);
+              cycle.tableCompleted(databaseName, tableName);
+            }
+            consumerNanos[0] += System.nanoTime() - consumerStart;
+          });
+      return true;
+    } catch (SQLException e) {
+      profile.recordFallback("sys views: " + e.getMessage());
+      // Assets already published are updated again by the fallback, which is harmless
+      log.warn("Could not extract assets from the sys views, falling back to DESCRIBE statements: {}",
+          e.getMessage());
+      return false;
+    } finally {
+      profile.recordJdbc(System.nanoTime() - start - consumerNanos[0]);
+    }
+  }
 
+  private void extractDatabases(Connection connection, HiveQueryPlanner planner, AssetCallback callback,
+      SyncCycle cycle, SyncProfile profile) throws SQLException {
+    List<String> databaseNames = new ArrayList<>();
+    long start = System.nanoTime();
+    try (PreparedStatement stmt = prepareStatement(connection, planner.showDatabases(databaseFilter));
+        ResultSet rs = stmt.executeQuery()) {
       while (rs.next()) {
-        String databaseName = rs.getString(1);
-
-        if (shouldSkipDatabase(databaseName)) {
-          continue;
-        }
+        databaseNames.add(rs.getString(1));
+      }
+    }
+    profile.recordJdbc(System.nanoTime() - start);
+    // The checkpoint relies on the order of SyncCycle, not on the collation of the server
+    databaseNames.sort(null);
 
-        log.info("Starting to process database: {}", databaseName);
-        extractDatabaseAsset(databaseName, callback);
-        extractTablesFromDatabase(connection, databaseName, callback);
-        log.info("Completed processing database: {}", databaseName);
+    for (String databaseName : databaseNames) {
+      if (shouldSkipDatabase(databaseName) || cycle.isCompleted(databaseName)) {
+        continue;
       }
+
+      cycle.checkContinue();
+      cycle.databaseStarted(databaseName);
+      log.info("Starting to process database: {}", databaseName);
+      extractDatabaseAsset(databaseName, callback, profile);
+      extractTablesFromDatabase(connection, planner, databaseName, callback, cycle, profile);
+      log.info("Completed processing database: {}", databaseName);
     }
   }
 
   private boolean shouldSkipDatabase(String databaseName) {
     return databaseName.equals("information_schema") ||
-        databaseName.equals("sys");
+        databaseName.equals("sys") ||
+        !databaseFilter.matches(databaseName);
+  }
+
+  private boolean shouldSkipTable(String tableName) {
+    return !tableFilter.matches(tableName);
   }
 
-  private void extractDatabaseAsset(String databaseName, AssetCallback callback) {
+  private void extractDatabaseAsset(String databaseName, AssetCallback callback, SyncProfile profile) {
     log.info("Starting to extract database asset: {}", databaseName);
+    long start = System.nanoTime();
 
     Asset databaseAsset = new Asset();
 
@@ -132,34 +543,138 @@ public class HiveAssetsSupplier implements DataMeshManagerAssetsProvider {
     }
 
     log.info("Database asset JSON: {}", toJson(databaseAsset));
-    callback.onAssetUpdated(databaseAsset);
+    long publishNanos = publish(databaseAsset, callback, profile);
+    profile.recordBuild(System.nanoTime() - start - publishNanos);
 
     log.info("Completed extracting database asset: {}", databaseName);
   }
 
-  private void extractTablesFromDatabase(Connection connection, String databaseName,
-      AssetCallback callback) throws SQLException {
+  private void extractTablesFromDatabase(Connection connection, HiveQueryPlanner planner, String databaseName,
+      AssetCallback callback, SyncCycle cycle, SyncProfile profile) throws SQLException {
 
-    try (PreparedStatement useStmt = connection.prepareStatement("USE " + quoteIdentifier(databaseName))) {
-      useStmt.execute();
+    if (planner.usesBulkDescribe()) {
+      extractTablesFromDatabaseInBulk(connection, planner, databaseName, callback, cycle, profile);
+      return;
     }
 
-    try (PreparedStatement stmt = connection.prepareStatement("SHOW TABLES");
-        ResultSet rs = stmt.executeQuery()) {
+    long start = System.nanoTime();
+    List<String> tableNames = listTables(connection, planner, databaseName);
+    profile.recordJdbc(System.nanoTime() - start);
+    // The checkpoint relies on the order of SyncCycle, not on the collation of the server
+    tableNames.sort(null);
 
-      while (rs.next()) {
-        String tableName = rs.getString(1);
-        log.info("Starting to process table: {}.{}", databaseName, tableName);
-        extractTableAsset(connection, databaseName, tableName, callback);
-        log.info("Completed processing table: {}.{}", databaseName, tableName);
+    for (String tableName : tableNames) {
+      if (cycle.isCompleted(databaseName, tableName)) {
+        continue;
       }
+
+      cycle.checkContinue();
+      log.info("Starting to process table: {}.{}", databaseName, tableName);
+      extractTableAsset(connection, planner, databaseName, tableName, callback, profile);
+      cycle.tableCompleted(databaseName, tableName);
+      log.info("Completed processing table: {}.{}", databaseName, tableName);
     }
   }
 
-  private void extractTableAsset(Connection connection, String databaseName, String tableName,
-      AssetCallback callback) throws SQLException {
+  /**
+   * Describes all tables of a database with a single statement, falling back to
+   * describing them one by one if the statement fails for this database. The tables are
+   * published while the result is read.
+   *
+   * The tables come in the order of the server, which may differ from the order the checkpoint
+   * relies on, so no table checkpoint is applied or recorded: a database stopped in the middle
+   * is published again from its first table.
+   */
+  private void extractTablesFromDatabaseInBulk(Connection connection, HiveQueryPlanner planner,
+      String databaseName, AssetCallback callback, SyncCycle cycle, SyncProfile profile) throws SQLException {
+    // The rows are streamed while the assets are published, so JDBC time is what the consumer doesn't use
+    long start = System.nanoTime();
+    long[] consumerNanos = new long[1];
+    try (PreparedStatement stmt = prepareStatement(connection, planner.describeTables(databaseName, tableFilter));
+        ResultSet rs = stmt.executeQuery()) {
+      planner.parseTables(databaseName, rs, tableDescription -> {
+        long consumerStart = System.nanoTime();
+        String tableName = tableDescription.tableName();
+        if (!shouldSkipTable(tableName)) {
+          cycle.checkContinue();
+          log.info("Starting to process table: {}.{}", databaseName, tableName);
+          profile.recordTable();
+          publishTableAssetWithinBudget(tableDescription, callback, profile);
+          log.info("Completed processing table: {}.{}", databaseName, tableName);
+        }
+        consumerNanos[0] += System.nanoTime() - consumerStart;
+      });
+      return;
+    } catch (SQLException e) {
+      log.warn("Could not describe tables of database {} in bulk, describing them one by one: {}",
+          databaseName, e.getMessage());
+      profile.recordFallback(databaseName + ": SHOW TABLE EXTENDED failed");
+    } finally {
+      profile.recordJdbc(System.nanoTime() - start - consumerNanos[0]);
+    }
+    // Tables already published are updated again by the fallback, which is harmless
+    extractTablesFromDatabase(connection,
+        createPlanner(planner.capabilities(), false),
+        databaseName, callback, cycle, profile);
+  }
+
+  private void extractTableAsset(Connection connection, HiveQueryPlanner planner, String databaseName,
+      String tableName, AssetCallback callback, SyncProfile profile) {
     log.info("Starting to extract table asset: {}.{}", databaseName, tableName);
 
+    // Reserve the worst case before reading, and keep what was actually read until it is published
+    long reserved = detailedTableInfoLimit.maxChars();
+    acquireBudget(reserved, databaseName, tableName);
+    try {
+      TableDescription tableDescription = describeTable(connection, planner, databaseName, tableName, profile);
+      long used = tableDescription.estimatedSize();
+      if (used < reserved) {
+        inFlightBudget.release(reserved - used);
+        reserved = used;
+      }
+      publishTableAsset(tableDescription, callback, profile);
+    } finally {
+      inFlightBudget.release(reserved);
+    }
+    log.info("Completed extracting table asset: {}.{}", databaseName, tableName);
+  }
+
+  /**
+   * Publishes a table read by a streaming statement. It is already in memory when it is handed
+   * over, and is held in the in-flight budget until published, so concurrent extractions wait for it.
+   */
+  private void publishTableAssetWithinBudget(TableDescription tableDescription, AssetCallback callback,
+      SyncProfile profile) {
+    long size = tableDescription.estimatedSize();
+    acquireBudget(size, tableDescription.databaseName(), tableDescription.tableName());
+    try {
+      publishTableAsset(tableDescription, callback, profile);
+    } finally {
+      inFlightBudget.release(size);
+    }
+  }
+
+  /**
+   * Reserves bytes of the in-flight budget, waiting until they fit.
+   *
+   * @throws SyncCycle.Stopped if interrupted while waiting, so the table is not marked as completed
+   */
+  private void acquireBudget(long bytes, String databaseName, String tableName) {
+    try {
+      if (inFlightBudget.acquire(bytes)) {
+        throttledExtractions.increment();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new SyncCycle.Stopped("interrupted while waiting to extract " + databaseName + "." + tableName);
+    }
+  }
+
+  private void publishTableAsset(TableDescription tableDescription, AssetCallback callback, SyncProfile profile) {
+    long start = System.nanoTime();
+    String databaseName = tableDescription.databaseName();
+    String tableName = tableDescription.tableName();
+
     Asset tableAsset = new Asset();
 
     String assetId = getTableAssetId(databaseName, tableName);
@@ -180,7 +695,15 @@ public class HiveAssetsSupplier implements DataMeshManagerAssetsProvider {
     String parentAssetId = getDatabaseAssetId(databaseName);
     tableAsset.addRelationshipsItem(new AssetRelationshipsInner().relationshipType("parent").assetId(parentAssetId));
 
-    extractColumnsFromTable(connection, databaseName, tableName, tableAsset);
+    boolean nestedColumns = Boolean.TRUE.equals(properties.assets().nestedColumns());
+    for (ColumnDescription columnDescription : tableDescription.columns()) {
+      addColumn(tableAsset, columnDescription.name(), columnDescription.type(), columnDescription.comment());
+      if (nestedColumns) {
+        addNestedColumns(tableAsset, columnDescription);
+      }
+    }
+
+    long parseNanos = addDetailedTableInformation(tableDescription, tableAsset, profile);
 
     tableAsset.putPropertiesItem("database", databaseName);
 
@@ -195,9 +718,50 @@ public class HiveAssetsSupplier implements DataMeshManagerAssetsProvider {
     }
 
     log.info("Table asset JSON: {}", toJson(tableAsset));
-    callback.onAssetUpdated(tableAsset);
+    long publishNanos = publish(tableAsset, callback, profile);
+    profile.recordBuild(System.nanoTime() - start - parseNanos - publishNanos);
+  }
 
-    log.info("Completed extracting table asset: {}.{}", databaseName, tableName);
+  private void addColumn(Asset tableAsset, String name, String type, String comment) {
+    AssetColumnsInner column = new AssetColumnsInner();
+    column.setName(name);
+    column.setType(type);
+    column.setDescription(comment != null && !comment.isEmpty() ? comment : "");
+    tableAsset.addColumnsItem(column);
+  }
+
+  /**
+   * Adds the fields of a struct, array, map, or union column as columns named by their dotted
+   * path, e.g. payload.user.id, since asset columns cannot be nested.
+   */
+  private void addNestedColumns(Asset tableAsset, ColumnDescription columnDescription) {
+    String type = columnDescription.type();
+    if (type == null || type.indexOf('<') < 0) {
+      return;
+    }
+    HiveType hiveType;
+    try {
+      hiveType = typeParser.parse(type);
+    } catch (IllegalArgumentException e) {
+      log.debug("Could not parse type of column {}: {}", columnDescription.name(), e.getMessage());
+      return;
+    }
+    for (ColumnDescription nested : hiveType.nestedColumns()) {
+      addColumn(tableAsset, columnDescription.name() + "." + nested.name(), nested.type(), nested.comment());
+    }
+  }
+
+  /**
+   * Hands the asset to the callback.
+   *
+   * @return the time spent in the callback
+   */
+  private long publish(Asset asset, AssetCallback callback, SyncProfile profile) {
+    long start = System.nanoTime();
+    callback.onAssetUpdated(asset);
+    long nanos = System.nanoTime() - start;
+    profile.recordPublish(nanos);
+    return nanos;
   }
 
   private String getPort() {
@@ -208,127 +772,73 @@ public class HiveAssetsSupplier implements DataMeshManagerAssetsProvider {
     return properties.connection().host();
   }
 
-  private void extractColumnsFromTable(Connection connection, String databaseName, String tableName,
-      Asset tableAsset) throws SQLException {
+  private TableDescription describeTable(Connection connection, HiveQueryPlanner planner, String databaseName,
+      String tableName, SyncProfile profile) {
+    String qualifiedName = databaseName + "." + tableName;
+    long start = System.nanoTime();
     // Note: DESCRIBE statement requires table name as identifier, not parameter
-    String quotedDatabaseName = quoteIdentifier(databaseName);
-    String quotedTableName = quoteIdentifier(tableName);
-    String describeQuery = "DESCRIBE EXTENDED " + quotedDatabaseName + "." + quotedTableName;
-
-    try (PreparedStatement stmt = connection.prepareStatement(describeQuery);
+    try (PreparedStatement stmt = prepareStatement(connection, planner.describeTable(databaseName, tableName));
         ResultSet rs = stmt.executeQuery()) {
-
-      boolean foundDetailedInfo = false;
-      boolean inDetailedSection = false;
-      while (rs.next()) {
-        String columnName = rs.getString("col_name");
-        String columnType = rs.getString("data_type");
-        String comment = rs.getString("comment");
-
-        // If col_name is null or empty, switch to detailed info mode
-        if (columnName == null || columnName.trim().isEmpty()) {
-          inDetailedSection = true;
-          continue;
-        }
-
-        // If we're in the detailed section, only look for Detailed Table Information
-        if (inDetailedSection) {
-          System.out.println("columnName = " + columnName);
-          if ("Detailed Table Information".equals(columnName)) {
-            foundDetailedInfo = true;
-            parseDetailedTableInformation(columnType, tableAsset);
-          }
-          continue;
-        }
-
-        // Process regular columns only if not in detailed section
-        AssetColumnsInner column = new AssetColumnsInner();
-        column.setName(columnName);
-        column.setType(columnType);
-        column.setDescription(comment != null && !comment.isEmpty() ? comment : "");
-        tableAsset.addColumnsItem(column);
-      }
-
-      if (!foundDetailedInfo) {
-        log.debug("No detailed table information found for {}.{}", databaseName, tableName);
-      }
-
+      TableDescription tableDescription = planner.parseTable(databaseName, tableName, rs);
+      profile.recordDescribe(qualifiedName, System.nanoTime() - start);
+      return tableDescription;
     } catch (SQLException e) {
       log.warn("Could not describe table {}.{}: {}", databaseName, tableName, e.getMessage());
+      profile.recordFallback(qualifiedName + ": DESCRIBE failed");
+    }
 
-      // Note: Table name must be an identifier, but LIMIT value can be parameterized
-      String fallbackQuery = "SELECT * FROM " + quotedDatabaseName + "." + quotedTableName + " LIMIT ?";
-      try (PreparedStatement stmt = connection.prepareStatement(fallbackQuery)) {
-        stmt.setInt(1, 0); // Set LIMIT parameter
-        ResultSetMetaData metaData = stmt.getMetaData();
-        int columnCount = metaData.getColumnCount();
-
-        for (int i = 1; i <= columnCount; i++) {
-          String columnName = metaData.getColumnName(i);
-          String columnType = metaData.getColumnTypeName(i);
-
-          AssetColumnsInner column = new AssetColumnsInner();
-          column.setName(columnName);
-          column.setType(columnType);
-          column.setDescription("");
-          tableAsset.addColumnsItem(column);
-        }
-      } catch (SQLException fallbackException) {
-        log.error("Could not extract columns for table {}.{}: {}", databaseName, tableName,
-            fallbackException.getMessage());
+    List<ColumnDescription> columns = new ArrayList<>();
+    // Note: Table name must be an identifier, but LIMIT value can be parameterized
+    String fallbackQuery = "SELECT * FROM " + HiveQueryPlanner.quoteIdentifier(databaseName) + "."
+        + HiveQueryPlanner.quoteIdentifier(tableName) + " LIMIT ?";
+    try (PreparedStatement stmt = connection.prepareStatement(fallbackQuery)) {
+      stmt.setInt(1, 0); // Set LIMIT parameter
+      ResultSetMetaData metaData = stmt.getMetaData();
+      int columnCount = metaData.getColumnCount();
+
+      for (int i = 1; i <= columnCount; i++) {
+        columns.add(new ColumnDescription(metaData.getColumnName(i), metaData.getColumnTypeName(i), null));
       }
+    } catch (SQLException fallbackException) {
+      log.error("Could not extract columns for table {}.{}: {}", databaseName, tableName,
+          fallbackException.getMessage());
     }
-  }
-
-  private Long getLastUpdatedAt() {
-    Map<String, Object> state = stateRepository.getState();
-    return (Long) state.getOrDefault("lastUpdatedAt", 0L);
-  }
-
-  private void setLastUpdatedAt(Long timestamp) {
-    Map<String, Object> state = Map.of("lastUpdatedAt", timestamp);
-    stateRepository.saveState(state);
+    profile.recordDescribe(qualifiedName, System.nanoTime() - start);
+    return new TableDescription(databaseName, tableName, columns, null, null, false);
   }
 
   /**
-   * Sanitizes SQL identifiers (database names, table names) to prevent SQL injection.
-   * Note: Database and table names cannot be parameterized in prepared statements as they are identifiers,
-   * not values, so we must sanitize them by allowing only safe characters.
+   * @return a mutable copy of the state, to be updated and saved as a whole
    */
-  private String sanitizeIdentifier(String identifier) {
-    if (identifier == null) {
-      throw new IllegalArgumentException("Identifier cannot be null");
-    }
-
-    // Allow only alphanumeric characters, underscores, and hyphens
-    // Remove any other characters that could be used for SQL injection
-    String sanitized = identifier.replaceAll("[^a-zA-Z0-9_-]", "");
-
-    if (sanitized.isEmpty()) {
-      throw new IllegalArgumentException("Identifier cannot be empty after sanitization: " + identifier);
-    }
-
-    if (sanitized.length() > 128) {
-      throw new IllegalArgumentException("Identifier too long after sanitization: " + sanitized);
-    }
-
-    return sanitized;
+  private Map<String, Object> getState() {
+    Map<String, Object> state = stateRepository.getState();
+    return state != null ? new LinkedHashMap<>(state) : new LinkedHashMap<>();
   }
 
   /**
-   * Creates a safely quoted identifier for SQL queries.
-   * Uses backticks for Hive compatibility.
+   * Adds the detailed table information according to the configured mode.
+   *
+   * @return the time spent parsing it
    */
-  private String quoteIdentifier(String identifier) {
-    String sanitized = sanitizeIdentifier(identifier);
-    return "`" + sanitized + "`";
-  }
-
-  private void parseDetailedTableInformation(String tableInfo, Asset tableAsset) {
-    if (tableInfo == null || tableInfo.trim().isEmpty()) {
+  private long addDetailedTableInformation(TableDescription tableDescription, Asset tableAsset,
+      SyncProfile profile) {
+    String tableInfo = tableDescription.detailedTableInfo();
+    Map<String, Object> tableInfoFields = tableDescription.detailedTableInfoFields();
+    if ((tableInfo == null || tableInfo.trim().isEmpty()) && tableInfoFields == null) {
       log.debug("No detailed table information to parse");
-      return;
+      return 0;
+    }
+    if (tableInfo != null) {
+      profile.recordDetailedTableInfo(tableInfo.length());
+      detailedTableInfoSize.record(tableInfo.length());
+    }
+    if (tableDescription.detailedTableInfoTruncated()) {
+      log.warn("Detailed table information of {}.{} exceeds {} characters and was truncated",
+          tableDescription.databaseName(), tableDescription.tableName(), detailedTableInfoLimit.maxChars());
+      oversizedDetailedTableInfo.increment();
+      tableAsset.putPropertiesItem("detailedTableInfoTruncated", true);
     }
+    long start = System.nanoTime();
 
     DetailedTableInfoMode mode = properties.assets().detailedTableInfo();
     if (mode == null) {
@@ -337,6 +847,16 @@ public class HiveAssetsSupplier implements DataMeshManagerAssetsProvider {
 
     switch (mode) {
       case JSON:
+        if (tableInfoFields != null) {
+          // Already structured by the dialect parser, no need to parse the raw form
+          tableAsset.putPropertiesItem("detailedTableInfo", objectMapper.valueToTree(tableInfoFields));
+          break;
+        }
+        if (tableDescription.detailedTableInfoTruncated()) {
+          // A truncated Hive object cannot be parsed, keep what was read
+          tableAsset.putPropertiesItem("detailedTableInfoRaw", tableInfo);
+          break;
+        }
         try {
           String jsonString = convertHiveObjectToJson(tableInfo);
           JsonNode json = objectMapper.readTree(jsonString);
@@ -344,12 +864,13 @@ public class HiveAssetsSupplier implements DataMeshManagerAssetsProvider {
           log.debug("Successfully parsed detailed table information as JSON");
         } catch (Exception e) {
           log.warn("Failed to parse detailed table information as JSON: {}", e.getMessage());
+          profile.recordParseFailure(tableDescription.databaseName() + "." + tableDescription.tableName());
           // Fallback to raw if JSON parsing fails
           tableAsset.putPropertiesItem("detailedTableInfoRaw", tableInfo);
         }
         break;
       case RAW:
-        tableAsset.putPropertiesItem("detailedTableInfoRaw", tableInfo);
+        tableAsset.putPropertiesItem("detailedTableInfoRaw", tableInfo != null ? tableInfo : toJson(tableInfoFields));
         log.debug("Added detailed table information as raw string");
         break;
       case IGNORE:
@@ -357,6 +878,9 @@ public class HiveAssetsSupplier implements DataMeshManagerAssetsProvider {
         // Do nothing - ignore the detailed table information
         break;
     }
+    long nanos = System.nanoTime() - start;
+    profile.recordParse(nanos);
+    return nanos;
   }
 
   String convertHiveObjectToJson(String hiveObject) {
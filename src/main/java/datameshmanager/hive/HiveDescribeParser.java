@@ -0,0 +1,61 @@
+package datameshmanager.hive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Parses the result of Hive's DESCRIBE and DESCRIBE EXTENDED.
+ *
+ * The columns come first, followed by an empty row and the partition and detailed
+ * sections. The "Detailed Table Information" row holds the Thrift Table object in
+ * Hive object notation, which is kept raw for HiveObjectParser.
+ */
+public class HiveDescribeParser implements DescribeResultParser {
+
+  private static final Logger log = LoggerFactory.getLogger(HiveDescribeParser.class);
+
+  private final DetailedTableInfoLimit limit;
+
+  public HiveDescribeParser(DetailedTableInfoLimit limit) {
+    this.limit = limit;
+  }
+
+  @Override
+  public TableDescription parse(String databaseName, String tableName, ResultSet rs) throws SQLException {
+    List<ColumnDescription> columns = new ArrayList<>();
+    DetailedTableInfoLimit.Text detailedTableInfo = null;
+    boolean inDetailedSection = false;
+    while (rs.next()) {
+      String columnName = rs.getString("col_name");
+
+      // If col_name is null or empty, switch to detailed info mode
+      if (columnName == null || columnName.trim().isEmpty()) {
+        inDetailedSection = true;
+        continue;
+      }
+
+      // If we're in the detailed section, only look for Detailed Table Information
+      if (inDetailedSection) {
+        if ("Detailed Table Information".equals(columnName)) {
+          // This cell can be huge, so it is read with a limit
+          detailedTableInfo = limit.read(rs, "data_type");
+        }
+        continue;
+      }
+
+      columns.add(new ColumnDescription(columnName, rs.getString("data_type"), rs.getString("comment")));
+    }
+
+    if (detailedTableInfo == null) {
+      log.debug("No detailed table information found for {}.{}", databaseName, tableName);
+      return new TableDescription(databaseName, tableName, columns, null, null, false);
+    }
+    return new TableDescription(databaseName, tableName, columns, detailedTableInfo.value(), null,
+        detailedTableInfo.truncated());
+  }
+}
@@ -0,0 +1,38 @@
+package datameshmanager.hive;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Locale;
+
+/**
+ * The SQL dialect spoken by the Hive-compatible system the connector is talking to.
+ */
+public enum HiveDialect {
+  /**
+   * Apache Hive / HiveServer2, including Cloudera Hive.
+   */
+  HIVE,
+
+  /**
+   * Apache Impala, including Cloudera Impala.
+   */
+  IMPALA;
+
+  /**
+   * Detects the dialect from the JDBC metadata of an open connection.
+   * Impala is recognized by its product name or version, or by a jdbc:impala URL,
+   * as Impala is also reachable through the HiveServer2 protocol.
+   */
+  public static HiveDialect detect(DatabaseMetaData metaData) throws SQLException {
+    if (containsImpala(metaData.getDatabaseProductName())
+        || containsImpala(metaData.getDatabaseProductVersion())
+        || containsImpala(metaData.getURL())) {
+      return IMPALA;
+    }
+    return HIVE;
+  }
+
+  private static boolean containsImpala(String value) {
+    return value != null && value.toLowerCase(Locale.ROOT).contains("impala");
+  }
+}
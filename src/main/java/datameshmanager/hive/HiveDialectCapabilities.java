@@ -0,0 +1,89 @@
+package datameshmanager.hive;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Capabilities of the connected server, probed once and cached by the HiveAssetsSupplier.
+ *
+ * @param dialect           the detected (or configured) dialect
+ * @param showTablesIn      whether SHOW TABLES IN db is supported, which saves the USE round trip
+ * @param showTableExtended whether SHOW TABLE EXTENDED IN db LIKE '*' is supported to describe a whole database at once
+ * @param showLike          whether SHOW DATABASES/TABLES LIKE accepts * wildcards and | alternatives
+ * @param sysViews          whether the Hive 3+ sys views can be queried for bulk extraction
+ */
+public record HiveDialectCapabilities(
+    HiveDialect dialect,
+    boolean showTablesIn,
+    boolean showTableExtended,
+    boolean showLike,
+    boolean sysViews
+) {
+
+  private static final Logger log = LoggerFactory.getLogger(HiveDialectCapabilities.class);
+
+  /**
+   * Probes the server behind the connection.
+   *
+   * @param connection        an open connection
+   * @param configuredDialect the configured dialect, or null to detect it from the JDBC metadata
+   * @param probeDatabase     an existing database used to test the statements
+   */
+  public static HiveDialectCapabilities probe(Connection connection, HiveDialect configuredDialect,
+      String probeDatabase) throws SQLException {
+    HiveDialect dialect = configuredDialect != null
+        ? configuredDialect
+        : HiveDialect.detect(connection.getMetaData());
+
+    String quotedDatabase = HiveQueryPlanner.quoteIdentifier(probeDatabase);
+    boolean showTablesIn = supports(connection, "SHOW TABLES IN " + quotedDatabase);
+    // Impala has no SHOW TABLE EXTENDED, so don't bother asking
+    boolean showTableExtended = dialect == HiveDialect.HIVE
+        && supports(connection, "SHOW TABLE EXTENDED IN " + quotedDatabase + " LIKE '__dmm_probe*'");
+
+    // Hive 4 and Impala differ in LIKE semantics between versions, so check the result, not just the syntax
+    String sanitizedDatabase = HiveQueryPlanner.sanitizeIdentifier(probeDatabase);
+    boolean showLike = returns(connection, "SHOW DATABASES LIKE '__dmm_probe|" + sanitizedDatabase + "*'",
+        sanitizedDatabase);
+
+    boolean sysViews = dialect == HiveDialect.HIVE && supports(connection, HiveSysViewsReader.PROBE_QUERY);
+
+    HiveDialectCapabilities capabilities = new HiveDialectCapabilities(dialect, showTablesIn, showTableExtended,
+        showLike, sysViews);
+    log.info("Probed server capabilities: {}", capabilities);
+    return capabilities;
+  }
+
+  private static boolean returns(Connection connection, String query, String expectedValue) {
+    try (PreparedStatement stmt = connection.prepareStatement(query);
+        ResultSet rs = stmt.executeQuery()) {
+      while (rs.next()) {
+        if (expectedValue.equalsIgnoreCase(rs.getString(1))) {
+          return true;
+        }
+      }
+      return false;
+    } catch (SQLException e) {
+      log.debug("Statement not supported: {}: {}", query, e.getMessage());
+      return false;
+    }
+  }
+
+  private static boolean supports(Connection connection, String query) {
+    try (PreparedStatement stmt = connection.prepareStatement(query);
+        ResultSet rs = stmt.executeQuery()) {
+      while (rs.next()) {
+        // drain the result
+      }
+      return true;
+    } catch (SQLException e) {
+      log.debug("Statement not supported: {}: {}", query, e.getMessage());
+      return false;
+    }
+  }
+}
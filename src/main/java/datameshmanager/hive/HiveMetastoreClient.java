@@ -0,0 +1,22 @@
+package datameshmanager.hive;
+
+import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.thrift.TException;
+
+import java.util.List;
+
+/**
+ * The calls of the Hive Metastore Thrift API the connector needs, so that extraction can be
+ * tested against a stub instead of a running metastore.
+ */
+public interface HiveMetastoreClient extends AutoCloseable {
+
+  List<String> getAllDatabases() throws TException;
+
+  List<String> getAllTables(String databaseName) throws TException;
+
+  List<Table> getTableObjectsByName(String databaseName, List<String> tableNames) throws TException;
+
+  @Override
+  void close();
+}
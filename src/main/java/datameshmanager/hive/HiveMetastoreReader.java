@@ -0,0 +1,147 @@
+package datameshmanager.hive;
+
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
+import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.thrift.TException;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Reads the catalog through the Hive Metastore Thrift API.
+ *
+ * Tables are fetched as Thrift Table objects in batches with get_table_objects_by_name, so
+ * their detailed information is available as structured fields and does not need to be
+ * parsed from the "Detailed Table Information" string of DESCRIBE EXTENDED. Table names are
+ * filtered before the batches are fetched, so excluded tables are never fetched at all.
+ *
+ * The table and serde parameters, which can hold large inlined values, are cut at the
+ * maximum size of the detailed table information like the raw form of DESCRIBE.
+ */
+public class HiveMetastoreReader {
+
+  private final int batchSize;
+  private final DetailedTableInfoLimit limit;
+
+  public HiveMetastoreReader(int batchSize, DetailedTableInfoLimit limit) {
+    this.batchSize = batchSize;
+    this.limit = limit;
+  }
+
+  public void read(HiveMetastoreClient client, Predicate<String> databaseFilter,
+      BiPredicate<String, String> tableFilter,
+      Consumer<String> databaseConsumer, Consumer<TableDescription> tableConsumer) throws TException {
+    List<String> databaseNames = new ArrayList<>(client.getAllDatabases());
+    databaseNames.sort(null);
+    for (String databaseName : databaseNames) {
+      if (!databaseFilter.test(databaseName)) {
+        continue;
+      }
+      databaseConsumer.accept(databaseName);
+
+      List<String> tableNames = client.getAllTables(databaseName).stream()
+          .filter(tableName -> tableFilter.test(databaseName, tableName))
+          .sorted()
+          .toList();
+      for (int i = 0; i < tableNames.size(); i += batchSize) {
+        List<String> batch = tableNames.subList(i, Math.min(i + batchSize, tableNames.size()));
+        List<Table> tables = new ArrayList<>(client.getTableObjectsByName(databaseName, batch));
+        tables.sort((a, b) -> a.getTableName().compareTo(b.getTableName()));
+        for (Table table : tables) {
+          tableConsumer.accept(toTableDescription(databaseName, table, limit));
+        }
+      }
+    }
+  }
+
+  static TableDescription toTableDescription(String databaseName, Table table, DetailedTableInfoLimit limit) {
+    List<ColumnDescription> columns = new ArrayList<>();
+    Fields fields = new Fields(limit);
+    fields.put("tableType", table.getTableType());
+    fields.put("owner", table.getOwner());
+    fields.put("createTime", table.getCreateTime());
+
+    StorageDescriptor sd = table.getSd();
+    if (sd != null) {
+      addColumns(columns, sd.getCols());
+      fields.put("location", sd.getLocation());
+      fields.put("inputFormat", sd.getInputFormat());
+      fields.put("outputFormat", sd.getOutputFormat());
+      if (sd.getSerdeInfo() != null) {
+        fields.put("serializationLib", sd.getSerdeInfo().getSerializationLib());
+        fields.putParameters("serdeParameters", sd.getSerdeInfo().getParameters());
+      }
+    }
+    // DESCRIBE lists the partition columns after the regular columns, too
+    addColumns(columns, table.getPartitionKeys());
+    if (table.getPartitionKeys() != null) {
+      fields.put("partitionKeys", table.getPartitionKeys().stream().map(FieldSchema::getName).toList());
+    }
+    fields.putParameters("parameters", table.getParameters());
+
+    return new TableDescription(databaseName, table.getTableName(), columns, null, fields.values,
+        fields.truncated);
+  }
+
+  private static void addColumns(List<ColumnDescription> columns, List<FieldSchema> fieldSchemas) {
+    if (fieldSchemas == null) {
+      return;
+    }
+    for (FieldSchema fieldSchema : fieldSchemas) {
+      columns.add(new ColumnDescription(fieldSchema.getName(), fieldSchema.getType(), fieldSchema.getComment()));
+    }
+  }
+
+  /**
+   * The detailed table information, cut once it exceeds the limit.
+   */
+  private static class Fields {
+    private final Map<String, Object> values = new LinkedHashMap<>();
+    private final DetailedTableInfoLimit limit;
+    private long size;
+    private boolean truncated;
+
+    private Fields(DetailedTableInfoLimit limit) {
+      this.limit = limit;
+    }
+
+    private void put(String key, Object value) {
+      if (fits(key, value)) {
+        values.put(key, value);
+      }
+    }
+
+    private void putParameters(String key, Map<String, String> parameters) {
+      if (parameters == null) {
+        put(key, null);
+        return;
+      }
+      if (!fits(key, null)) {
+        return;
+      }
+      Map<String, String> kept = new LinkedHashMap<>();
+      for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+        if (!fits(parameter.getKey(), parameter.getValue())) {
+          break;
+        }
+        kept.put(parameter.getKey(), parameter.getValue());
+      }
+      values.put(key, kept);
+    }
+
+    private boolean fits(String key, Object value) {
+      if (truncated) {
+        return false;
+      }
+      size += TableDescription.sizeOf(key) + TableDescription.sizeOf(value);
+      truncated = size > limit.maxChars();
+      return !truncated;
+    }
+  }
+}
@@ -2,11 +2,15 @@ package datameshmanager.hive;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import org.springframework.util.unit.DataSize;
+
 import java.time.Duration;
+import java.util.List;
 
 @ConfigurationProperties(prefix = "datameshmanager.client.hive")
 public record HiveProperties(
         ConnectionProperties connection,
+        MetastoreProperties metastore,
         AssetsProperties assets
 ) {
 
@@ -17,7 +21,16 @@ public record HiveProperties(
             String username,
             String password,
             String driverClassName,
-            String jdbcUrl
+            String jdbcUrl,
+            HiveDialect dialect
+    ) {
+    }
+
+    public record MetastoreProperties(
+            String host,
+            Integer port,
+            Integer batchSize,
+            Duration timeout
     ) {
     }
 
@@ -27,7 +40,40 @@ public record HiveProperties(
             Duration pollinterval,
             DetailedTableInfoMode detailedTableInfo,
             String idPrefix,
-            String owner
+            String owner,
+            ExtractionMode extractionMode,
+            Boolean bulkDescribe,
+            Integer jdbcFetchSize,
+            DataSize maxDetailedTableInfoSize,
+            DataSize maxInFlightSize,
+            Boolean nestedColumns,
+            Integer typeCacheSize,
+            Duration maxCycleDuration,
+            Duration shutdownTimeout,
+            List<String> includeDatabases,
+            List<String> excludeDatabases,
+            List<String> includeTables,
+            List<String> excludeTables,
+            ProfilingProperties profiling,
+            TargetedSyncProperties targetedSync,
+            StateProperties state
+    ) {
+    }
+
+    public record StateProperties(
+            String localPath,
+            Duration flushInterval
+    ) {
+    }
+
+    public record TargetedSyncProperties(
+            Duration debounce
+    ) {
+    }
+
+    public record ProfilingProperties(
+            Integer history,
+            Integer topTables
     ) {
     }
 }
\ No newline at end of file
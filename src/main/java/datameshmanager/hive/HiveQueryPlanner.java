@@ -0,0 +1,146 @@
+package datameshmanager.hive;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+/**
+ * Chooses the cheapest statements for the probed capabilities of the server, and the
+ * parser matching their output.
+ *
+ * Note on SQL Injection Protection:
+ * - Database and table names are identifiers and cannot be parameterized in prepared statements
+ * - They are sanitized and quoted using quoteIdentifier() method
+ */
+public class HiveQueryPlanner {
+
+  private final HiveDialectCapabilities capabilities;
+  private final DetailedTableInfoMode detailedTableInfoMode;
+  private final boolean bulkDescribe;
+  private final DescribeResultParser describeParser;
+  private final HiveShowTableExtendedParser showTableExtendedParser;
+
+  /**
+   * @param capabilities          the probed capabilities of the server
+   * @param detailedTableInfoMode how detailed table information is handled, null for the default
+   * @param bulkDescribe          whether to describe whole databases with SHOW TABLE EXTENDED where supported;
+   *                              this is a single statement per database, but yields no column comments
+   * @param limit                 the maximum size of the detailed table information kept per table
+   */
+  public HiveQueryPlanner(HiveDialectCapabilities capabilities, DetailedTableInfoMode detailedTableInfoMode,
+      boolean bulkDescribe, DetailedTableInfoLimit limit) {
+    this.capabilities = capabilities;
+    this.detailedTableInfoMode = detailedTableInfoMode != null ? detailedTableInfoMode : DetailedTableInfoMode.JSON;
+    this.bulkDescribe = bulkDescribe;
+    this.describeParser = capabilities.dialect() == HiveDialect.IMPALA
+        ? new ImpalaDescribeParser(limit)
+        : new HiveDescribeParser(limit);
+    this.showTableExtendedParser = new HiveShowTableExtendedParser(limit);
+  }
+
+  public HiveDialectCapabilities capabilities() {
+    return capabilities;
+  }
+
+  public String showDatabases(NameFilter databaseFilter) {
+    return "SHOW DATABASES" + like(databaseFilter);
+  }
+
+  /**
+   * Whether showTables() lists the tables of the current database, so that useDatabase() must run first.
+   */
+  public boolean requiresUseDatabase() {
+    return !capabilities.showTablesIn();
+  }
+
+  public String useDatabase(String databaseName) {
+    return "USE " + quoteIdentifier(databaseName);
+  }
+
+  public String showTables(String databaseName, NameFilter tableFilter) {
+    if (requiresUseDatabase()) {
+      return "SHOW TABLES" + like(tableFilter);
+    }
+    return "SHOW TABLES IN " + quoteIdentifier(databaseName) + like(tableFilter);
+  }
+
+  /**
+   * Whether the tables of a database are described by a single describeTables() statement
+   * instead of one describeTable() statement per table.
+   */
+  public boolean usesBulkDescribe() {
+    return bulkDescribe && capabilities.showTableExtended();
+  }
+
+  public String describeTables(String databaseName, NameFilter tableFilter) {
+    String likePattern = capabilities.showLike() ? tableFilter.likePattern() : null;
+    return "SHOW TABLE EXTENDED IN " + quoteIdentifier(databaseName)
+        + " LIKE '" + (likePattern != null ? likePattern : "*") + "'";
+  }
+
+  public void parseTables(String databaseName, ResultSet rs, Consumer<TableDescription> tableConsumer)
+      throws SQLException {
+    showTableExtendedParser.parse(databaseName, rs, tableConsumer);
+  }
+
+  public String describeTable(String databaseName, String tableName) {
+    String qualifiedName = quoteIdentifier(databaseName) + "." + quoteIdentifier(tableName);
+    if (detailedTableInfoMode == DetailedTableInfoMode.IGNORE) {
+      return "DESCRIBE " + qualifiedName;
+    }
+    if (capabilities.dialect() == HiveDialect.IMPALA) {
+      return "DESCRIBE FORMATTED " + qualifiedName;
+    }
+    return "DESCRIBE EXTENDED " + qualifiedName;
+  }
+
+  /**
+   * Pushes the include patterns of the filter into a LIKE clause where the server supports it.
+   * The pattern only contains characters accepted by NameFilter.likePattern(), so it is safe to inline.
+   */
+  private String like(NameFilter filter) {
+    String likePattern = filter.likePattern();
+    if (likePattern == null || !capabilities.showLike()) {
+      return "";
+    }
+    return " LIKE '" + likePattern + "'";
+  }
+
+  public TableDescription parseTable(String databaseName, String tableName, ResultSet rs) throws SQLException {
+    return describeParser.parse(databaseName, tableName, rs);
+  }
+
+  /**
+   * Sanitizes SQL identifiers (database names, table names) to prevent SQL injection.
+   * Note: Database and table names cannot be parameterized in prepared statements as they are identifiers,
+   * not values, so we must sanitize them by allowing only safe characters.
+   */
+  static String sanitizeIdentifier(String identifier) {
+    if (identifier == null) {
+      throw new IllegalArgumentException("Identifier cannot be null");
+    }
+
+    // Allow only alphanumeric characters, underscores, and hyphens
+    // Remove any other characters that could be used for SQL injection
+    String sanitized = identifier.replaceAll("[^a-zA-Z0-9_-]", "");
+
+    if (sanitized.isEmpty()) {
+      throw new IllegalArgumentException("Identifier cannot be empty after sanitization: " + identifier);
+    }
+
+    if (sanitized.length() > 128) {
+      throw new IllegalArgumentException("Identifier too long after sanitization: " + sanitized);
+    }
+
+    return sanitized;
+  }
+
+  /**
+   * Creates a safely quoted identifier for SQL queries.
+   * Uses backticks for Hive and Impala compatibility.
+   */
+  static String quoteIdentifier(String identifier) {
+    String sanitized = sanitizeIdentifier(identifier);
+    return "`" + sanitized + "`";
+  }
+}
@@ -0,0 +1,205 @@
+package datameshmanager.hive;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Parses the result of Hive's SHOW TABLE EXTENDED IN db LIKE 'pattern'.
+ *
+ * Every table is a block of "key:value" lines starting with "tableName:". Columns are
+ * rendered as a Thrift DDL struct, e.g. "columns:struct columns { string a, i32 b, list<i64> c}",
+ * without comments and with Thrift type names at every nesting level, which are translated
+ * back to the names DESCRIBE returns.
+ *
+ * Tables are handed to the consumer as soon as their block ends, so a database with many
+ * tables is never held in memory as a whole.
+ */
+public class HiveShowTableExtendedParser {
+
+  private static final Map<String, String> THRIFT_TYPES = Map.of(
+      "bool", "boolean",
+      "byte", "tinyint",
+      "i16", "smallint",
+      "i32", "int",
+      "i64", "bigint",
+      "list", "array");
+
+  private final DetailedTableInfoLimit limit;
+
+  public HiveShowTableExtendedParser(DetailedTableInfoLimit limit) {
+    this.limit = limit;
+  }
+
+  public void parse(String databaseName, ResultSet rs, Consumer<TableDescription> tableConsumer)
+      throws SQLException {
+    Block block = null;
+    while (rs.next()) {
+      String line = rs.getString(1);
+      if (line == null || line.isBlank()) {
+        continue;
+      }
+      int separator = line.indexOf(':');
+      if (separator < 0) {
+        continue;
+      }
+      String key = line.substring(0, separator).trim();
+      String value = line.substring(separator + 1).trim();
+
+      if ("tableName".equals(key)) {
+        if (block != null) {
+          tableConsumer.accept(block.toTableDescription(databaseName));
+        }
+        block = new Block(value);
+      }
+      if (block == null) {
+        continue;
+      }
+      // the columns are needed in any case, the other fields are cut where the raw form is
+      if ("columns".equals(key)) {
+        block.columns = value;
+      } else if ("partitionColumns".equals(key)) {
+        block.partitionColumns = value;
+      }
+      if (!block.truncated) {
+        block.truncated = !limit.append(block.raw, line + '\n');
+        if (!block.truncated) {
+          block.fields.put(key, value);
+        }
+      }
+    }
+    if (block != null) {
+      tableConsumer.accept(block.toTableDescription(databaseName));
+    }
+  }
+
+  /**
+   * Parses a Thrift DDL struct such as "struct columns { string a, map<string,i32> b}".
+   */
+  static List<ColumnDescription> parseColumns(String ddl) {
+    List<ColumnDescription> columns = new ArrayList<>();
+    if (ddl == null) {
+      return columns;
+    }
+    int start = ddl.indexOf('{');
+    int end = ddl.lastIndexOf('}');
+    if (start < 0 || end <= start) {
+      return columns;
+    }
+    for (String entry : splitTopLevel(ddl.substring(start + 1, end))) {
+      String trimmed = entry.trim();
+      int space = trimmed.lastIndexOf(' ');
+      if (space <= 0) {
+        continue;
+      }
+      String type = trimmed.substring(0, space).trim();
+      String name = trimmed.substring(space + 1).trim();
+      columns.add(new ColumnDescription(name, toHiveType(type), null));
+    }
+    return columns;
+  }
+
+  /**
+   * Translates the Thrift names in a type such as "map<string,list<i32>>" back to Hive names,
+   * here "map<string,array<int>>". Only type positions are translated, not struct field names.
+   */
+  static String toHiveType(String thriftType) {
+    StringBuilder result = new StringBuilder(thriftType.length());
+    // for each open '<', whether it belongs to a struct, whose elements start with a field name
+    Deque<Boolean> structs = new ArrayDeque<>();
+    boolean typePosition = true;
+    String lastType = null;
+    int i = 0;
+    while (i < thriftType.length()) {
+      char c = thriftType.charAt(i);
+      if (Character.isLetterOrDigit(c) || c == '_') {
+        int start = i;
+        while (i < thriftType.length()
+            && (Character.isLetterOrDigit(thriftType.charAt(i)) || thriftType.charAt(i) == '_')) {
+          i++;
+        }
+        String token = thriftType.substring(start, i);
+        if (typePosition) {
+          lastType = THRIFT_TYPES.getOrDefault(token.toLowerCase(Locale.ROOT), token);
+          result.append(lastType);
+        } else {
+          result.append(token);
+        }
+        continue;
+      }
+      if (c == '(') {
+        // parameters such as decimal(10,2) are copied as they are
+        int end = thriftType.indexOf(')', i);
+        end = end < 0 ? thriftType.length() : end + 1;
+        result.append(thriftType, i, end);
+        i = end;
+        continue;
+      }
+      if (c == '<') {
+        structs.push("struct".equalsIgnoreCase(lastType));
+        typePosition = !structs.peek();
+      } else if (c == '>') {
+        if (!structs.isEmpty()) {
+          structs.pop();
+        }
+        typePosition = false;
+      } else if (c == ',') {
+        typePosition = structs.isEmpty() || !structs.peek();
+      } else if (c == ':') {
+        typePosition = true;
+      }
+      result.append(c);
+      i++;
+    }
+    return result.toString();
+  }
+
+  private static List<String> splitTopLevel(String value) {
+    List<String> parts = new ArrayList<>();
+    int depth = 0;
+    int partStart = 0;
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '<' || c == '(') {
+        depth++;
+      } else if (c == '>' || c == ')') {
+        depth--;
+      } else if (c == ',' && depth == 0) {
+        parts.add(value.substring(partStart, i));
+        partStart = i + 1;
+      }
+    }
+    if (partStart < value.length()) {
+      parts.add(value.substring(partStart));
+    }
+    return parts;
+  }
+
+  private static class Block {
+    private final String tableName;
+    private final Map<String, Object> fields = new LinkedHashMap<>();
+    private final StringBuilder raw = new StringBuilder();
+    private String columns;
+    private String partitionColumns;
+    private boolean truncated;
+
+    private Block(String tableName) {
+      this.tableName = tableName;
+    }
+
+    private TableDescription toTableDescription(String databaseName) {
+      fields.remove("columns");
+      fields.remove("partitionColumns");
+      List<ColumnDescription> columns = parseColumns(this.columns);
+      columns.addAll(parseColumns(partitionColumns));
+      return new TableDescription(databaseName, tableName, columns, raw.toString(), fields, truncated);
+    }
+  }
+}
@@ -0,0 +1,56 @@
+package datameshmanager.hive;
+
+import datameshmanager.sdk.DataMeshManagerAssetsSynchronizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the periodic synchronization on a single dedicated thread.
+ *
+ * Cycles never overlap: the synchronizer runs them one after another, and HiveAssetsSupplier
+ * skips a cycle while another one holds its lock. On stop, the running cycle is cancelled
+ * before its next table and saves its checkpoint; the thread is interrupted only if it does
+ * not finish within the shutdown timeout, e.g. because a statement hangs.
+ */
+public class HiveSyncScheduler {
+
+  private static final Logger log = LoggerFactory.getLogger(HiveSyncScheduler.class);
+
+  private final DataMeshManagerAssetsSynchronizer synchronizer;
+  private final HiveAssetsSupplier assetsSupplier;
+  private final Duration shutdownTimeout;
+  private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable ->
+      new Thread(runnable, "hive-sync"));
+
+  public HiveSyncScheduler(DataMeshManagerAssetsSynchronizer synchronizer, HiveAssetsSupplier assetsSupplier,
+      Duration shutdownTimeout) {
+    this.synchronizer = synchronizer;
+    this.assetsSupplier = assetsSupplier;
+    this.shutdownTimeout = shutdownTimeout;
+  }
+
+  public void start() {
+    executor.execute(synchronizer::start);
+  }
+
+  public void stop() {
+    log.info("Stopping synchronization, waiting up to {} for the running cycle", shutdownTimeout);
+    synchronizer.stop();
+    assetsSupplier.cancel();
+    executor.shutdown();
+    try {
+      if (!executor.awaitTermination(shutdownTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+        log.warn("Synchronization did not stop within {}, interrupting it", shutdownTimeout);
+        executor.shutdownNow();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,162 @@
+package datameshmanager.hive;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Reads the whole catalog from the sys views of Hive 3+, which mirror the metastore tables.
+ *
+ * Instead of one DESCRIBE per table, the columns of all tables are streamed by a single
+ * SELECT ordered by database and table, and grouped into TableDescriptions on the fly.
+ * Only the partition keys, which are few, are loaded upfront.
+ *
+ * The SELECTs are ordered by the server, possibly with the collation of the database backing
+ * the metastore. Since the checkpoints of SyncCycle rely on the order of String.compareTo,
+ * reading fails if the rows arrive in a different order, and the caller falls back to
+ * statements whose results it can sort itself.
+ */
+public class HiveSysViewsReader {
+
+  static final String PROBE_QUERY = "SELECT `NAME` FROM sys.DBS LIMIT 1";
+
+  static final String DATABASES_QUERY = "SELECT `NAME` FROM sys.DBS ORDER BY `NAME`";
+
+  static final String PARTITION_KEYS_QUERY =
+      "SELECT d.`NAME`, t.`TBL_NAME`, p.`PKEY_NAME`, p.`PKEY_TYPE`, p.`PKEY_COMMENT` "
+          + "FROM sys.PARTITION_KEYS p "
+          + "JOIN sys.TBLS t ON p.`TBL_ID` = t.`TBL_ID` "
+          + "JOIN sys.DBS d ON t.`DB_ID` = d.`DB_ID` "
+          + "ORDER BY d.`NAME`, t.`TBL_NAME`, p.`INTEGER_IDX`";
+
+  static final String COLUMNS_QUERY =
+      "SELECT d.`NAME`, t.`TBL_NAME`, t.`TBL_TYPE`, t.`OWNER`, s.`LOCATION`, s.`INPUT_FORMAT`, s.`OUTPUT_FORMAT`, "
+          + "c.`COLUMN_NAME`, c.`TYPE_NAME`, c.`COMMENT` "
+          + "FROM sys.TBLS t "
+          + "JOIN sys.DBS d ON t.`DB_ID` = d.`DB_ID` "
+          + "LEFT JOIN sys.SDS s ON t.`SD_ID` = s.`SD_ID` "
+          + "LEFT JOIN sys.COLUMNS_V2 c ON s.`CD_ID` = c.`CD_ID` "
+          + "ORDER BY d.`NAME`, t.`TBL_NAME`, c.`INTEGER_IDX`";
+
+  private final Integer fetchSize;
+
+  /**
+   * @param fetchSize the JDBC fetch size for the streaming SELECTs, or null for the driver default
+   */
+  public HiveSysViewsReader(Integer fetchSize) {
+    this.fetchSize = fetchSize;
+  }
+
+  /**
+   * Reads all databases and then all tables, passing them to the consumers in name order.
+   *
+   * @throws SQLException also if the server does not return the names in the order of String.compareTo
+   */
+  public void read(Connection connection, Consumer<String> databaseConsumer,
+      Consumer<TableDescription> tableConsumer) throws SQLException {
+    try (PreparedStatement stmt = prepareStatement(connection, DATABASES_QUERY);
+        ResultSet rs = stmt.executeQuery()) {
+      String previousDatabaseName = null;
+      while (rs.next()) {
+        String databaseName = rs.getString(1);
+        checkOrder(previousDatabaseName, databaseName);
+        databaseConsumer.accept(databaseName);
+        previousDatabaseName = databaseName;
+      }
+    }
+
+    Map<String, List<ColumnDescription>> partitionKeys = readPartitionKeys(connection);
+
+    try (PreparedStatement stmt = prepareStatement(connection, COLUMNS_QUERY);
+        ResultSet rs = stmt.executeQuery()) {
+      TableBuilder table = null;
+      while (rs.next()) {
+        String databaseName = rs.getString(1);
+        String tableName = rs.getString(2);
+        if (table == null || !table.is(databaseName, tableName)) {
+          if (table != null) {
+            checkOrder(table, databaseName, tableName);
+            tableConsumer.accept(table.build(partitionKeys));
+          }
+          table = new TableBuilder(databaseName, tableName);
+          table.fields.put("tableType", rs.getString(3));
+          table.fields.put("owner", rs.getString(4));
+          table.fields.put("location", rs.getString(5));
+          table.fields.put("inputFormat", rs.getString(6));
+          table.fields.put("outputFormat", rs.getString(7));
+        }
+        String columnName = rs.getString(8);
+        if (columnName != null) {
+          table.columns.add(new ColumnDescription(columnName, rs.getString(9), rs.getString(10)));
+        }
+      }
+      if (table != null) {
+        tableConsumer.accept(table.build(partitionKeys));
+      }
+    }
+  }
+
+  private static void checkOrder(String previousName, String name) throws SQLException {
+    if (previousName != null && name.compareTo(previousName) <= 0) {
+      throw new SQLException("The sys views returned " + name + " after " + previousName
+          + ", not in the order synchronization checkpoints rely on");
+    }
+  }
+
+  private static void checkOrder(TableBuilder previous, String databaseName, String tableName) throws SQLException {
+    if (!previous.databaseName.equals(databaseName)) {
+      checkOrder(previous.databaseName, databaseName);
+    } else {
+      checkOrder(previous.databaseName + "." + previous.tableName, databaseName + "." + tableName);
+    }
+  }
+
+  private Map<String, List<ColumnDescription>> readPartitionKeys(Connection connection) throws SQLException {
+    Map<String, List<ColumnDescription>> partitionKeys = new HashMap<>();
+    try (PreparedStatement stmt = prepareStatement(connection, PARTITION_KEYS_QUERY);
+        ResultSet rs = stmt.executeQuery()) {
+      while (rs.next()) {
+        partitionKeys.computeIfAbsent(rs.getString(1) + "." + rs.getString(2), key -> new ArrayList<>())
+            .add(new ColumnDescription(rs.getString(3), rs.getString(4), rs.getString(5)));
+      }
+    }
+    return partitionKeys;
+  }
+
+  private PreparedStatement prepareStatement(Connection connection, String query) throws SQLException {
+    PreparedStatement stmt = connection.prepareStatement(query);
+    if (fetchSize != null) {
+      stmt.setFetchSize(fetchSize);
+    }
+    return stmt;
+  }
+
+  private static class TableBuilder {
+    private final String databaseName;
+    private final String tableName;
+    private final List<ColumnDescription> columns = new ArrayList<>();
+    private final Map<String, Object> fields = new LinkedHashMap<>();
+
+    private TableBuilder(String databaseName, String tableName) {
+      this.databaseName = databaseName;
+      this.tableName = tableName;
+    }
+
+    private boolean is(String databaseName, String tableName) {
+      return this.databaseName.equals(databaseName) && this.tableName.equals(tableName);
+    }
+
+    private TableDescription build(Map<String, List<ColumnDescription>> partitionKeys) {
+      // DESCRIBE lists the partition columns after the regular columns, too
+      columns.addAll(partitionKeys.getOrDefault(databaseName + "." + tableName, List.of()));
+      return new TableDescription(databaseName, tableName, columns, null, fields, false);
+    }
+  }
+}
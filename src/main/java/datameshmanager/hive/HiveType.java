@@ -0,0 +1,80 @@
+package datameshmanager.hive;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A parsed Hive column type. Complex types have named fields: the fields of a struct,
+ * "element" of an array, "key" and "value" of a map, and "member0", "member1", ... of a union.
+ *
+ * Instances are immutable and shared between all columns of the same type.
+ */
+public final class HiveType {
+
+  public enum Category {
+    PRIMITIVE,
+    STRUCT,
+    ARRAY,
+    MAP,
+    UNION
+  }
+
+  public record Field(String name, HiveType type, String comment) {
+  }
+
+  private final Category category;
+  private final String typeName;
+  private final List<Field> fields;
+  private final List<ColumnDescription> nestedColumns;
+
+  HiveType(Category category, String typeName, List<Field> fields) {
+    this.category = category;
+    this.typeName = typeName;
+    this.fields = List.copyOf(fields);
+    this.nestedColumns = flatten(this.fields);
+  }
+
+  public Category category() {
+    return category;
+  }
+
+  /**
+   * @return the normalized type string, e.g. struct<id:bigint,tags:array<string>>
+   */
+  public String typeName() {
+    return typeName;
+  }
+
+  public List<Field> fields() {
+    return fields;
+  }
+
+  public boolean isComplex() {
+    return category != Category.PRIMITIVE;
+  }
+
+  /**
+   * All nested fields at any depth, in declaration order, named by their dotted path
+   * relative to the column, e.g. "user.id" or "tags.element". Computed once per type, as
+   * structs with hundreds of fields repeat across many tables.
+   */
+  public List<ColumnDescription> nestedColumns() {
+    return nestedColumns;
+  }
+
+  private static List<ColumnDescription> flatten(List<Field> fields) {
+    List<ColumnDescription> columns = new ArrayList<>();
+    for (Field field : fields) {
+      columns.add(new ColumnDescription(field.name(), field.type().typeName(), field.comment()));
+      for (ColumnDescription nested : field.type().nestedColumns()) {
+        columns.add(new ColumnDescription(field.name() + "." + nested.name(), nested.type(), nested.comment()));
+      }
+    }
+    return List.copyOf(columns);
+  }
+
+  @Override
+  public String toString() {
+    return typeName;
+  }
+}
@@ -0,0 +1,249 @@
+package datameshmanager.hive;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses Hive type strings such as struct<id:bigint,tags:array<string>> into HiveTypes.
+ *
+ * Parsed types are memoized in a bounded LRU cache keyed by the type string, as the same
+ * struct definitions repeat across many sharded tables and each would otherwise be parsed
+ * again for every table. Accepts both the compact form of Hive and the multi-line form of
+ * Impala, backtick-quoted field names, and field comments.
+ */
+public class HiveTypeParser {
+
+  private final Map<String, HiveType> cache;
+  // guarded by cache
+  private long hits;
+  private long misses;
+
+  public HiveTypeParser(int maxCacheSize) {
+    this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, HiveType> eldest) {
+        return size() > maxCacheSize;
+      }
+    };
+  }
+
+  /**
+   * @throws IllegalArgumentException if the type string is malformed
+   */
+  public HiveType parse(String type) {
+    synchronized (cache) {
+      HiveType cached = cache.get(type);
+      if (cached != null) {
+        hits++;
+        return cached;
+      }
+      misses++;
+    }
+    // parsed outside the lock, a concurrent parse of the same type is harmless
+    HiveType parsed = new Parser(type).parseAll();
+    synchronized (cache) {
+      cache.put(type, parsed);
+    }
+    return parsed;
+  }
+
+  public long getHits() {
+    synchronized (cache) {
+      return hits;
+    }
+  }
+
+  public long getMisses() {
+    synchronized (cache) {
+      return misses;
+    }
+  }
+
+  public int getCacheSize() {
+    synchronized (cache) {
+      return cache.size();
+    }
+  }
+
+  private static class Parser {
+
+    private final String input;
+    private int pos;
+
+    Parser(String input) {
+      this.input = input;
+    }
+
+    HiveType parseAll() {
+      HiveType type = parseType();
+      skipWhitespace();
+      if (pos < input.length()) {
+        throw error("Unexpected '" + input.charAt(pos) + "'");
+      }
+      return type;
+    }
+
+    private HiveType parseType() {
+      skipWhitespace();
+      int start = pos;
+      while (pos < input.length() && (Character.isLetterOrDigit(input.charAt(pos)) || input.charAt(pos) == '_')) {
+        pos++;
+      }
+      if (start == pos) {
+        throw error("Expected a type");
+      }
+      String name = input.substring(start, pos).toLowerCase(Locale.ROOT);
+      return switch (name) {
+        case "array" -> {
+          expect('<');
+          HiveType element = parseType();
+          expect('>');
+          yield new HiveType(HiveType.Category.ARRAY, "array<" + element.typeName() + ">",
+              List.of(new HiveType.Field("element", element, null)));
+        }
+        case "map" -> {
+          expect('<');
+          HiveType key = parseType();
+          expect(',');
+          HiveType value = parseType();
+          expect('>');
+          yield new HiveType(HiveType.Category.MAP, "map<" + key.typeName() + "," + value.typeName() + ">",
+              List.of(new HiveType.Field("key", key, null), new HiveType.Field("value", value, null)));
+        }
+        case "struct" -> parseStruct();
+        case "uniontype" -> parseUnion();
+        default -> parsePrimitive(name);
+      };
+    }
+
+    private HiveType parseStruct() {
+      expect('<');
+      List<HiveType.Field> fields = new ArrayList<>();
+      StringBuilder typeName = new StringBuilder("struct<");
+      skipWhitespace();
+      if (peek() != '>') {
+        do {
+          String fieldName = parseFieldName();
+          expect(':');
+          HiveType fieldType = parseType();
+          String comment = parseComment();
+          fields.add(new HiveType.Field(fieldName, fieldType, comment));
+          if (fields.size() > 1) {
+            typeName.append(',');
+          }
+          typeName.append(fieldName).append(':').append(fieldType.typeName());
+          skipWhitespace();
+        } while (tryConsume(','));
+      }
+      expect('>');
+      return new HiveType(HiveType.Category.STRUCT, typeName.append('>').toString(), fields);
+    }
+
+    private HiveType parseUnion() {
+      expect('<');
+      List<HiveType.Field> members = new ArrayList<>();
+      do {
+        members.add(new HiveType.Field("member" + members.size(), parseType(), null));
+        skipWhitespace();
+      } while (tryConsume(','));
+      expect('>');
+      return new HiveType(HiveType.Category.UNION, "uniontype<" + String.join(",",
+          members.stream().map(member -> member.type().typeName()).toList()) + ">", members);
+    }
+
+    private HiveType parsePrimitive(String name) {
+      skipWhitespace();
+      // parameterized types like decimal(10,2) or varchar(255)
+      if (peek() == '(') {
+        int end = input.indexOf(')', pos);
+        if (end < 0) {
+          throw error("Unclosed '('");
+        }
+        name = name + input.substring(pos, end + 1).replaceAll("\\s", "");
+        pos = end + 1;
+      }
+      return new HiveType(HiveType.Category.PRIMITIVE, name, List.of());
+    }
+
+    private String parseFieldName() {
+      skipWhitespace();
+      if (tryConsume('`')) {
+        int end = input.indexOf('`', pos);
+        if (end < 0) {
+          throw error("Unclosed '`'");
+        }
+        String name = input.substring(pos, end);
+        pos = end + 1;
+        return name;
+      }
+      int end = input.indexOf(':', pos);
+      if (end < 0) {
+        throw error("Expected ':'");
+      }
+      String name = input.substring(pos, end).trim();
+      pos = end;
+      if (name.isEmpty()) {
+        throw error("Expected a field name");
+      }
+      return name;
+    }
+
+    private String parseComment() {
+      skipWhitespace();
+      if (!input.regionMatches(true, pos, "comment", 0, "comment".length())) {
+        return null;
+      }
+      pos += "comment".length();
+      skipWhitespace();
+      char quote = peek();
+      if (quote != '\'' && quote != '"') {
+        throw error("Expected a quoted comment");
+      }
+      pos++;
+      StringBuilder comment = new StringBuilder();
+      while (pos < input.length() && input.charAt(pos) != quote) {
+        if (input.charAt(pos) == '\\' && pos + 1 < input.length()) {
+          pos++;
+        }
+        comment.append(input.charAt(pos++));
+      }
+      if (pos >= input.length()) {
+        throw error("Unclosed comment");
+      }
+      pos++;
+      return comment.toString();
+    }
+
+    private void expect(char c) {
+      skipWhitespace();
+      if (!tryConsume(c)) {
+        throw error("Expected '" + c + "'");
+      }
+    }
+
+    private boolean tryConsume(char c) {
+      if (peek() == c) {
+        pos++;
+        return true;
+      }
+      return false;
+    }
+
+    private char peek() {
+      return pos < input.length() ? input.charAt(pos) : 0;
+    }
+
+    private void skipWhitespace() {
+      while (pos < input.length() && Character.isWhitespace(input.charAt(pos))) {
+        pos++;
+      }
+    }
+
+    private IllegalArgumentException error(String message) {
+      return new IllegalArgumentException(message + " at position " + pos + " of type " + input);
+    }
+  }
+}
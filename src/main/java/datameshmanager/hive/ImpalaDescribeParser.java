@@ -0,0 +1,106 @@
+package datameshmanager.hive;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parses the result of Impala's DESCRIBE and DESCRIBE FORMATTED.
+ *
+ * Plain DESCRIBE returns one (name, type, comment) row per column. DESCRIBE FORMATTED
+ * starts with a "# col_name" header and continues with "# Partition Information" and
+ * "# Detailed Table Information" sections of "Key:" / value rows; parameter blocks such
+ * as "Table Parameters:" are followed by rows with an empty name and the key and value
+ * in the second and third column.
+ */
+public class ImpalaDescribeParser implements DescribeResultParser {
+
+  private static final String DETAILED_SECTION = "# Detailed Table Information";
+
+  private final DetailedTableInfoLimit limit;
+
+  public ImpalaDescribeParser(DetailedTableInfoLimit limit) {
+    this.limit = limit;
+  }
+
+  @Override
+  public TableDescription parse(String databaseName, String tableName, ResultSet rs) throws SQLException {
+    List<ColumnDescription> columns = new ArrayList<>();
+    Set<String> columnNames = new LinkedHashSet<>();
+    Map<String, Object> fields = null;
+    Map<String, Object> currentBlock = null;
+    StringBuilder raw = null;
+    boolean truncated = false;
+
+    while (rs.next()) {
+      String name = trimToNull(rs.getString(1));
+      String type = trimToNull(rs.getString(2));
+      String comment = trimToNull(rs.getString(3));
+
+      if (fields == null) {
+        if (name == null || name.startsWith("#")) {
+          if (DETAILED_SECTION.equals(name)) {
+            fields = new LinkedHashMap<>();
+            raw = new StringBuilder();
+          }
+          continue;
+        }
+        // partition columns are repeated in the partition section of DESCRIBE FORMATTED
+        if (columnNames.add(name)) {
+          columns.add(new ColumnDescription(name, type, comment));
+        }
+        continue;
+      }
+
+      if (!truncated) {
+        truncated = !appendRaw(raw, name, type, comment);
+      }
+      if (truncated) {
+        // the fields are cut where the raw form is, the remaining rows are only consumed
+        continue;
+      }
+      if (name == null) {
+        if (currentBlock != null && type != null) {
+          currentBlock.put(type, comment);
+        }
+        continue;
+      }
+      if (name.startsWith("#")) {
+        currentBlock = null;
+        continue;
+      }
+
+      String key = name.endsWith(":") ? name.substring(0, name.length() - 1).trim() : name;
+      if (type == null) {
+        currentBlock = new LinkedHashMap<>();
+        fields.put(key, currentBlock);
+      } else {
+        currentBlock = null;
+        fields.put(key, type);
+      }
+    }
+
+    return new TableDescription(databaseName, tableName, columns,
+        raw != null ? raw.toString() : null, fields, truncated);
+  }
+
+  private boolean appendRaw(StringBuilder raw, String name, String type, String comment) {
+    return limit.append(raw, (name != null ? name : "")
+        + '\t' + (type != null ? type : "")
+        + '\t' + (comment != null ? comment : "")
+        + '\n');
+  }
+
+  private static String trimToNull(String value) {
+    if (value == null) {
+      return null;
+    }
+    String trimmed = value.trim();
+    return trimmed.isEmpty() || "NULL".equals(trimmed) ? null : trimmed;
+  }
+}
@@ -0,0 +1,45 @@
+package datameshmanager.hive;
+
+/**
+ * A global budget for the bytes of table metadata held in memory between reading a table and
+ * publishing its asset. Extraction blocks while the budget is exhausted, so parallel extractions
+ * cannot pile up oversized DESCRIBE results.
+ *
+ * A single reservation larger than the whole budget is still admitted when nothing else is in
+ * flight, so extraction slows down but never deadlocks.
+ */
+public class InFlightByteBudget {
+
+  private final long maxBytes;
+
+  // guarded by this
+  private long inFlightBytes;
+
+  public InFlightByteBudget(long maxBytes) {
+    this.maxBytes = maxBytes;
+  }
+
+  /**
+   * Reserves the bytes, waiting until they fit into the budget.
+   *
+   * @return whether the caller had to wait
+   */
+  public synchronized boolean acquire(long bytes) throws InterruptedException {
+    boolean waited = false;
+    while (inFlightBytes > 0 && inFlightBytes + bytes > maxBytes) {
+      waited = true;
+      wait();
+    }
+    inFlightBytes += bytes;
+    return waited;
+  }
+
+  public synchronized void release(long bytes) {
+    inFlightBytes = Math.max(0, inFlightBytes - bytes);
+    notifyAll();
+  }
+
+  public synchronized long getInFlightBytes() {
+    return inFlightBytes;
+  }
+}
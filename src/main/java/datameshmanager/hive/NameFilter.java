@@ -0,0 +1,109 @@
+package datameshmanager.hive;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Include/exclude filter for database and table names, compiled once.
+ *
+ * Patterns are globs with * and ? wildcards, or regular expressions when prefixed with "regex:".
+ * Matching is case-insensitive, as Hive and Impala names are. A name matches if it matches any
+ * include pattern (or there are none) and no exclude pattern.
+ */
+public class NameFilter {
+
+  private static final String REGEX_PREFIX = "regex:";
+  private static final Pattern PUSHABLE_GLOB = Pattern.compile("[A-Za-z0-9_*-]+");
+
+  private static final NameFilter ALL = new NameFilter(List.of(), List.of(), null);
+
+  private final List<Pattern> includes;
+  private final List<Pattern> excludes;
+  private final String likePattern;
+
+  private NameFilter(List<Pattern> includes, List<Pattern> excludes, String likePattern) {
+    this.includes = includes;
+    this.excludes = excludes;
+    this.likePattern = likePattern;
+  }
+
+  public static NameFilter of(List<String> includes, List<String> excludes) {
+    if (isEmpty(includes) && isEmpty(excludes)) {
+      return ALL;
+    }
+    return new NameFilter(compile(includes), compile(excludes), toLikePattern(includes));
+  }
+
+  public boolean matches(String name) {
+    if (!includes.isEmpty() && includes.stream().noneMatch(pattern -> pattern.matcher(name).matches())) {
+      return false;
+    }
+    return excludes.stream().noneMatch(pattern -> pattern.matcher(name).matches());
+  }
+
+  /**
+   * Returns the include patterns as a pattern for SHOW DATABASES/TABLES LIKE, e.g. "sales_*|finance_*",
+   * or null if there are no include patterns or they cannot be expressed that way.
+   * The result is a pre-filter only: the names returned by the server must still be passed to matches().
+   */
+  public String likePattern() {
+    return likePattern;
+  }
+
+  private static String toLikePattern(List<String> includes) {
+    if (isEmpty(includes)) {
+      return null;
+    }
+    List<String> globs = includes.stream()
+        .filter(include -> include != null && !include.trim().isEmpty())
+        .map(String::trim)
+        .toList();
+    if (!globs.stream().allMatch(glob -> PUSHABLE_GLOB.matcher(glob).matches())) {
+      return null;
+    }
+    return String.join("|", globs);
+  }
+
+  private static List<Pattern> compile(List<String> patterns) {
+    List<Pattern> compiled = new ArrayList<>();
+    if (patterns == null) {
+      return compiled;
+    }
+    for (String pattern : patterns) {
+      if (pattern == null || pattern.trim().isEmpty()) {
+        continue;
+      }
+      String trimmed = pattern.trim();
+      String regex = trimmed.startsWith(REGEX_PREFIX)
+          ? trimmed.substring(REGEX_PREFIX.length())
+          : globToRegex(trimmed);
+      compiled.add(Pattern.compile(regex, Pattern.CASE_INSENSITIVE));
+    }
+    return compiled;
+  }
+
+  static String globToRegex(String glob) {
+    StringBuilder regex = new StringBuilder();
+    StringBuilder literal = new StringBuilder();
+    for (char c : glob.toCharArray()) {
+      if (c == '*' || c == '?') {
+        if (!literal.isEmpty()) {
+          regex.append(Pattern.quote(literal.toString()));
+          literal.setLength(0);
+        }
+        regex.append(c == '*' ? ".*" : ".");
+      } else {
+        literal.append(c);
+      }
+    }
+    if (!literal.isEmpty()) {
+      regex.append(Pattern.quote(literal.toString()));
+    }
+    return regex.toString();
+  }
+
+  private static boolean isEmpty(List<String> patterns) {
+    return patterns == null || patterns.stream().allMatch(pattern -> pattern == null || pattern.trim().isEmpty());
+  }
+}
@@ -0,0 +1,147 @@
+package datameshmanager.hive;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Controls a running synchronization cycle: it can be cancelled, e.g. on shutdown, and it
+ * yields when it exceeds the maximum cycle duration. Both are checked cooperatively between
+ * databases and tables, so a table is never left half published.
+ *
+ * A cycle tracks the last table it completed. If it stops early, that checkpoint is saved in
+ * the state and the next cycle resumes after it. Resuming relies on databases and tables
+ * being processed in the order of String.compareTo, so callers sort the names themselves
+ * or verify the order of the server.
+ */
+public class SyncCycle {
+
+  static final String CHECKPOINT_DATABASE = "checkpointDatabase";
+  static final String CHECKPOINT_TABLE = "checkpointTable";
+
+  /**
+   * The last completed table, or only the database if none of its tables was completed yet.
+   */
+  public record Checkpoint(String databaseName, String tableName) {
+
+    static Checkpoint fromState(Map<String, Object> state) {
+      Object databaseName = state.get(CHECKPOINT_DATABASE);
+      if (databaseName == null) {
+        return null;
+      }
+      Object tableName = state.get(CHECKPOINT_TABLE);
+      return new Checkpoint(databaseName.toString(), tableName != null ? tableName.toString() : null);
+    }
+
+    void toState(Map<String, Object> state) {
+      state.put(CHECKPOINT_DATABASE, databaseName);
+      if (tableName != null) {
+        state.put(CHECKPOINT_TABLE, tableName);
+      } else {
+        state.remove(CHECKPOINT_TABLE);
+      }
+    }
+
+    static void clearState(Map<String, Object> state) {
+      state.remove(CHECKPOINT_DATABASE);
+      state.remove(CHECKPOINT_TABLE);
+    }
+
+    @Override
+    public String toString() {
+      return tableName != null ? databaseName + "." + tableName : databaseName;
+    }
+  }
+
+  /**
+   * Thrown at a check between tables, or when waiting to read a table is interrupted, to unwind
+   * a cycle that must stop.
+   */
+  public static class Stopped extends RuntimeException {
+
+    Stopped(String message) {
+      super(message, null, false, false);
+    }
+  }
+
+  private final Checkpoint resumeFrom;
+  private final long deadlineNanos;
+  private volatile boolean cancelled;
+  private volatile Checkpoint progress;
+
+  /**
+   * @param maxDuration the duration after which the cycle yields, or null for no limit
+   * @param resumeFrom  the checkpoint of the previous cycle, or null to start from the beginning
+   */
+  public SyncCycle(Duration maxDuration, Checkpoint resumeFrom) {
+    this.resumeFrom = resumeFrom;
+    this.progress = resumeFrom;
+    this.deadlineNanos = maxDuration != null ? System.nanoTime() + maxDuration.toNanos() : Long.MAX_VALUE;
+  }
+
+  public Checkpoint getResumeFrom() {
+    return resumeFrom;
+  }
+
+  /**
+   * @return the checkpoint to resume from if this cycle stops now
+   */
+  public Checkpoint getProgress() {
+    return progress;
+  }
+
+  public void cancel() {
+    cancelled = true;
+  }
+
+  public boolean isCancelled() {
+    return cancelled || Thread.currentThread().isInterrupted();
+  }
+
+  public boolean isExpired() {
+    return deadlineNanos != Long.MAX_VALUE && System.nanoTime() - deadlineNanos > 0;
+  }
+
+  /**
+   * Checks whether the cycle may continue with the next database or table.
+   *
+   * @throws Stopped if the cycle was cancelled or exceeded its maximum duration
+   */
+  public void checkContinue() {
+    if (isCancelled()) {
+      throw new Stopped("cancelled");
+    }
+    if (isExpired()) {
+      throw new Stopped("maximum cycle duration exceeded");
+    }
+  }
+
+  /**
+   * @return true if a previous cycle already completed all tables of the database
+   */
+  public boolean isCompleted(String databaseName) {
+    return resumeFrom != null && databaseName.compareTo(resumeFrom.databaseName()) < 0;
+  }
+
+  /**
+   * @return true if a previous cycle already completed the table
+   */
+  public boolean isCompleted(String databaseName, String tableName) {
+    if (resumeFrom == null) {
+      return false;
+    }
+    return isCompleted(databaseName) || (databaseName.equals(resumeFrom.databaseName())
+        && resumeFrom.tableName() != null
+        && tableName.compareTo(resumeFrom.tableName()) <= 0);
+  }
+
+  public void databaseStarted(String databaseName) {
+    Checkpoint current = progress;
+    if (current == null || !current.databaseName().equals(databaseName)) {
+      progress = new Checkpoint(databaseName, null);
+    }
+  }
+
+  public void tableCompleted(String databaseName, String tableName) {
+    progress = new Checkpoint(databaseName, tableName);
+  }
+}
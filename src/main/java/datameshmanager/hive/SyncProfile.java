@@ -0,0 +1,190 @@
+package datameshmanager.hive;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records where the time of one synchronization cycle goes.
+ *
+ * Recording is cheap enough to stay on in production: phase times and counters are
+ * LongAdders, the slowest tables are kept in a bounded heap that is only locked for
+ * tables slower than the current K-th slowest, and the lists are capped.
+ */
+public class SyncProfile {
+
+  static final int MAX_LISTED_TABLES = 100;
+
+  private final int topTablesLimit;
+  private final Instant startedAt = Instant.now();
+  private volatile Instant finishedAt;
+
+  private final LongAdder jdbcNanos = new LongAdder();
+  private final LongAdder metastoreNanos = new LongAdder();
+  private final LongAdder parseNanos = new LongAdder();
+  private final LongAdder buildNanos = new LongAdder();
+  private final LongAdder publishNanos = new LongAdder();
+  private final LongAdder tables = new LongAdder();
+  private final LongAdder detailedTableInfoBytes = new LongAdder();
+
+  // guarded by this; the threshold lets fast tables skip the lock once the heap is full
+  private final PriorityQueue<TableTiming> slowestTables =
+      new PriorityQueue<>(Comparator.comparingLong(TableTiming::describeNanos));
+  private volatile long slowestTablesThreshold = -1;
+
+  private final Queue<String> fallbacks = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger fallbackCount = new AtomicInteger();
+  private final Queue<String> parseFailures = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger parseFailureCount = new AtomicInteger();
+
+  public SyncProfile(int topTablesLimit) {
+    this.topTablesLimit = topTablesLimit;
+  }
+
+  public void recordJdbc(long nanos) {
+    jdbcNanos.add(nanos);
+  }
+
+  /**
+   * Records time spent in calls to the Hive Metastore Thrift API.
+   */
+  public void recordMetastore(long nanos) {
+    metastoreNanos.add(nanos);
+  }
+
+  /**
+   * Records the DESCRIBE latency of a table, which also counts as JDBC time.
+   */
+  public void recordDescribe(String qualifiedName, long nanos) {
+    jdbcNanos.add(nanos);
+    tables.increment();
+    if (topTablesLimit <= 0 || nanos <= slowestTablesThreshold) {
+      return;
+    }
+    synchronized (this) {
+      slowestTables.add(new TableTiming(qualifiedName, nanos));
+      if (slowestTables.size() > topTablesLimit) {
+        slowestTables.poll();
+      }
+      if (slowestTables.size() == topTablesLimit) {
+        slowestTablesThreshold = slowestTables.peek().describeNanos();
+      }
+    }
+  }
+
+  /**
+   * Records a table that was read in bulk, without a DESCRIBE of its own.
+   */
+  public void recordTable() {
+    tables.increment();
+  }
+
+  public void recordParse(long nanos) {
+    parseNanos.add(nanos);
+  }
+
+  public void recordBuild(long nanos) {
+    buildNanos.add(nanos);
+  }
+
+  public void recordPublish(long nanos) {
+    publishNanos.add(nanos);
+  }
+
+  public void recordDetailedTableInfo(long bytes) {
+    detailedTableInfoBytes.add(bytes);
+  }
+
+  /**
+   * Records that the preferred statement failed for a table or database and a fallback was used.
+   */
+  public void recordFallback(String description) {
+    addCapped(fallbacks, fallbackCount, description);
+  }
+
+  public void recordParseFailure(String qualifiedName) {
+    addCapped(parseFailures, parseFailureCount, qualifiedName);
+  }
+
+  void finish() {
+    finishedAt = Instant.now();
+  }
+
+  public Report report() {
+    List<TableTiming> slowest;
+    synchronized (this) {
+      slowest = new ArrayList<>(slowestTables);
+    }
+    slowest.sort(Comparator.comparingLong(TableTiming::describeNanos).reversed());
+
+    Instant end = finishedAt != null ? finishedAt : Instant.now();
+    return new Report(
+        startedAt,
+        finishedAt,
+        Duration.between(startedAt, end).toMillis(),
+        tables.sum(),
+        new Phases(millis(jdbcNanos), millis(metastoreNanos), millis(parseNanos), millis(buildNanos), millis(publishNanos)),
+        slowest.stream().map(t -> new SlowTable(t.qualifiedName(), TimeUnit.NANOSECONDS.toMillis(t.describeNanos())))
+            .toList(),
+        fallbackCount.get(),
+        List.copyOf(fallbacks),
+        parseFailureCount.get(),
+        List.copyOf(parseFailures),
+        detailedTableInfoBytes.sum());
+  }
+
+  private static void addCapped(Queue<String> queue, AtomicInteger count, String value) {
+    if (count.getAndIncrement() < MAX_LISTED_TABLES) {
+      queue.add(value);
+    }
+  }
+
+  private static long millis(LongAdder nanos) {
+    return TimeUnit.NANOSECONDS.toMillis(nanos.sum());
+  }
+
+  private record TableTiming(String qualifiedName, long describeNanos) {
+  }
+
+  /**
+   * The profile of a cycle as served by the actuator endpoint.
+   * Lists of tables are capped, the counts are not.
+   */
+  public record Report(
+      Instant startedAt,
+      Instant finishedAt,
+      long durationMillis,
+      long tables,
+      Phases phases,
+      List<SlowTable> slowestTables,
+      int fallbackCount,
+      List<String> fallbacks,
+      int parseFailureCount,
+      List<String> parseFailures,
+      long detailedTableInfoBytes
+  ) {
+  }
+
+  public record Phases(
+      long jdbcMillis,
+      long metastoreMillis,
+      long parseMillis,
+      long buildMillis,
+      long publishMillis
+  ) {
+  }
+
+  public record SlowTable(
+      String table,
+      long describeMillis
+  ) {
+  }
+}
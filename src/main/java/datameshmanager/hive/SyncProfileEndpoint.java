@@ -0,0 +1,29 @@
+package datameshmanager.hive;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Actuator endpoint serving the profiles of the running and the last completed synchronization cycles
+ * at /actuator/hivesyncprofile.
+ */
+@Endpoint(id = "hivesyncprofile")
+public class SyncProfileEndpoint {
+
+  private final SyncProfiler profiler;
+
+  public SyncProfileEndpoint(SyncProfiler profiler) {
+    this.profiler = profiler;
+  }
+
+  @ReadOperation
+  public Map<String, Object> profiles() {
+    Map<String, Object> profiles = new LinkedHashMap<>();
+    profiles.put("current", profiler.getCurrent());
+    profiles.put("completed", profiler.getCompleted());
+    return profiles;
+  }
+}
@@ -0,0 +1,56 @@
+package datameshmanager.hive;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the profiles of the running and the last completed synchronization cycles.
+ */
+public class SyncProfiler {
+
+  private final int historySize;
+  private final int topTablesLimit;
+
+  // guarded by this, newest first
+  private final Deque<SyncProfile> completed = new ArrayDeque<>();
+  private volatile SyncProfile current;
+
+  public SyncProfiler(int historySize, int topTablesLimit) {
+    this.historySize = historySize;
+    this.topTablesLimit = topTablesLimit;
+  }
+
+  public SyncProfile startCycle() {
+    SyncProfile profile = new SyncProfile(topTablesLimit);
+    current = profile;
+    return profile;
+  }
+
+  public void completeCycle(SyncProfile profile) {
+    profile.finish();
+    synchronized (this) {
+      completed.addFirst(profile);
+      while (completed.size() > historySize) {
+        completed.removeLast();
+      }
+    }
+    if (current == profile) {
+      current = null;
+    }
+  }
+
+  public SyncProfile.Report getCurrent() {
+    SyncProfile profile = current;
+    return profile != null ? profile.report() : null;
+  }
+
+  public List<SyncProfile.Report> getCompleted() {
+    List<SyncProfile> profiles;
+    synchronized (this) {
+      profiles = new ArrayList<>(completed);
+    }
+    return profiles.stream().map(SyncProfile::report).toList();
+  }
+}
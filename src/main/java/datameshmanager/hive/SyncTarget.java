@@ -0,0 +1,52 @@
+package datameshmanager.hive;
+
+import java.util.Locale;
+
+/**
+ * A database or a single table to synchronize on demand.
+ *
+ * @param databaseName the database
+ * @param tableName    the table, or null for the database and all of its tables
+ */
+public record SyncTarget(
+    String databaseName,
+    String tableName
+) {
+
+  /**
+   * Parses "database" or "database.table". Hive and Impala identifiers are case-insensitive
+   * and listed in lower case, so the names are lower-cased to match the assets of the cycle.
+   */
+  public static SyncTarget parse(String target) {
+    if (target == null || target.trim().isEmpty()) {
+      throw new IllegalArgumentException("Target cannot be empty");
+    }
+    String trimmed = target.trim().toLowerCase(Locale.ROOT);
+    int separator = trimmed.indexOf('.');
+    if (separator < 0) {
+      return new SyncTarget(trimmed, null);
+    }
+    String databaseName = trimmed.substring(0, separator);
+    String tableName = trimmed.substring(separator + 1);
+    if (databaseName.isEmpty() || tableName.isEmpty() || tableName.contains(".")) {
+      throw new IllegalArgumentException("Target must be database or database.table: " + target);
+    }
+    return new SyncTarget(databaseName, tableName);
+  }
+
+  public boolean isDatabase() {
+    return tableName == null;
+  }
+
+  /**
+   * Whether synchronizing this target also synchronizes the other one.
+   */
+  public boolean covers(SyncTarget other) {
+    return databaseName.equals(other.databaseName) && (isDatabase() || tableName.equals(other.tableName));
+  }
+
+  @Override
+  public String toString() {
+    return isDatabase() ? databaseName : databaseName + "." + tableName;
+  }
+}
@@ -0,0 +1,56 @@
+package datameshmanager.hive;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A table as described by the server, independent of the dialect it was read from.
+ *
+ * @param databaseName            the database the table belongs to
+ * @param tableName               the table name
+ * @param columns                 the columns, including partition columns
+ * @param detailedTableInfo       the raw detailed table information, or null if not available
+ * @param detailedTableInfoFields the detailed table information as structured fields, or null if
+ *                                it is only available in raw form and must be parsed by HiveObjectParser
+ * @param detailedTableInfoTruncated whether the detailed table information was cut at the configured
+ *                                maximum size, in raw form and as structured fields
+ */
+public record TableDescription(
+    String databaseName,
+    String tableName,
+    List<ColumnDescription> columns,
+    String detailedTableInfo,
+    Map<String, Object> detailedTableInfoFields,
+    boolean detailedTableInfoTruncated
+) {
+
+  /**
+   * @return the approximate size of the description in characters, held in memory until it is published
+   */
+  public long estimatedSize() {
+    long size = sizeOf(detailedTableInfo) + sizeOf(detailedTableInfoFields);
+    for (ColumnDescription column : columns) {
+      size += sizeOf(column.name()) + sizeOf(column.type()) + sizeOf(column.comment());
+    }
+    return size;
+  }
+
+  static long sizeOf(Object value) {
+    if (value instanceof Map<?, ?> map) {
+      long size = 0;
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        size += sizeOf(entry.getKey()) + sizeOf(entry.getValue());
+      }
+      return size;
+    }
+    if (value instanceof Collection<?> collection) {
+      long size = 0;
+      for (Object element : collection) {
+        size += sizeOf(element);
+      }
+      return size;
+    }
+    return value != null ? value.toString().length() : 0;
+  }
+}
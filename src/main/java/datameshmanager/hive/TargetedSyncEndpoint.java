@@ -0,0 +1,82 @@
+package datameshmanager.hive;
+
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Actuator endpoint to synchronize single databases and tables on demand at /actuator/hivesync.
+ *
+ * POST a JSON body such as {"databases": "sales", "tables": "finance.invoices,finance.payments"}.
+ */
+@Endpoint(id = "hivesync")
+public class TargetedSyncEndpoint {
+
+  private final TargetedSyncQueue queue;
+
+  public TargetedSyncEndpoint(TargetedSyncQueue queue) {
+    this.queue = queue;
+  }
+
+  @ReadOperation
+  public Map<String, Object> pending() {
+    return Map.of("pending", toStrings(queue.getPending()));
+  }
+
+  @WriteOperation
+  public Map<String, Object> trigger(@Nullable String databases, @Nullable String tables) {
+    List<SyncTarget> targets = new ArrayList<>();
+    for (String database : split(databases)) {
+      SyncTarget target = parse(database);
+      if (!target.isDatabase()) {
+        throw invalid("Not a database: " + database);
+      }
+      targets.add(target);
+    }
+    for (String table : split(tables)) {
+      SyncTarget target = parse(table);
+      if (target.isDatabase()) {
+        throw invalid("Table must be qualified as database.table: " + table);
+      }
+      targets.add(target);
+    }
+    if (targets.isEmpty()) {
+      throw invalid("No databases or tables given");
+    }
+
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("requested", toStrings(targets));
+    result.put("pending", toStrings(queue.request(targets)));
+    return result;
+  }
+
+  private static SyncTarget parse(String target) {
+    try {
+      return SyncTarget.parse(target);
+    } catch (IllegalArgumentException e) {
+      throw invalid(e.getMessage());
+    }
+  }
+
+  private static InvalidEndpointRequestException invalid(String message) {
+    return new InvalidEndpointRequestException(message, message);
+  }
+
+  private static List<String> split(String value) {
+    if (value == null || value.trim().isEmpty()) {
+      return List.of();
+    }
+    return List.of(value.split(",")).stream().map(String::trim).filter(s -> !s.isEmpty()).toList();
+  }
+
+  private static List<String> toStrings(List<SyncTarget> targets) {
+    return targets.stream().map(SyncTarget::toString).toList();
+  }
+}
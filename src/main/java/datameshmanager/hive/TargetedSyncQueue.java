@@ -0,0 +1,92 @@
+package datameshmanager.hive;
+
+import datameshmanager.sdk.DataMeshManagerAssetsProvider.AssetCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queues targeted synchronizations of single databases and tables, e.g. right after they were created.
+ *
+ * Requests are debounced and coalesced: targets requested within the debounce delay, or while a
+ * targeted synchronization is running, are merged into one run, duplicates are dropped, and tables
+ * are dropped if their whole database is queued. Runs happen one at a time on a dedicated thread with
+ * their own connection, so they neither block nor restart the periodic full cycle.
+ */
+public class TargetedSyncQueue {
+
+  private static final Logger log = LoggerFactory.getLogger(TargetedSyncQueue.class);
+
+  private final HiveAssetsSupplier assetsSupplier;
+  private final AssetCallback callback;
+  private final Duration debounce;
+  private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+    Thread thread = new Thread(runnable, "hive-targeted-sync");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  // guarded by this
+  private final Set<SyncTarget> pending = new LinkedHashSet<>();
+  private boolean scheduled;
+
+  public TargetedSyncQueue(HiveAssetsSupplier assetsSupplier, AssetCallback callback, Duration debounce) {
+    this.assetsSupplier = assetsSupplier;
+    this.callback = callback;
+    this.debounce = debounce;
+  }
+
+  /**
+   * Queues the targets and returns the targets pending after coalescing.
+   */
+  public synchronized List<SyncTarget> request(Collection<SyncTarget> targets) {
+    for (SyncTarget target : targets) {
+      if (pending.stream().anyMatch(queued -> queued.covers(target))) {
+        continue;
+      }
+      pending.removeIf(target::covers);
+      pending.add(target);
+    }
+    if (!pending.isEmpty() && !scheduled) {
+      scheduled = true;
+      executor.schedule(this::run, debounce.toMillis(), TimeUnit.MILLISECONDS);
+    }
+    return new ArrayList<>(pending);
+  }
+
+  public synchronized List<SyncTarget> getPending() {
+    return new ArrayList<>(pending);
+  }
+
+  public void stop() {
+    executor.shutdownNow();
+  }
+
+  private void run() {
+    List<SyncTarget> targets;
+    synchronized (this) {
+      targets = new ArrayList<>(pending);
+      pending.clear();
+      scheduled = false;
+    }
+    if (targets.isEmpty()) {
+      return;
+    }
+    log.info("Starting targeted synchronization of {}", targets);
+    try {
+      assetsSupplier.fetchTargets(targets, callback);
+    } catch (RuntimeException e) {
+      log.error("Targeted synchronization of {} failed", targets, e);
+    }
+    log.info("Completed targeted synchronization of {}", targets);
+  }
+}
@@ -0,0 +1,49 @@
+package datameshmanager.hive;
+
+import org.apache.hadoop.hive.metastore.api.GetTablesRequest;
+import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.hadoop.hive.metastore.api.ThriftHiveMetastore;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TBinaryProtocol;
+import org.apache.thrift.transport.TSocket;
+import org.apache.thrift.transport.TTransport;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * HiveMetastoreClient talking to a metastore over a plain (unsecured) Thrift socket.
+ */
+public class ThriftHiveMetastoreClient implements HiveMetastoreClient {
+
+  private final TTransport transport;
+  private final ThriftHiveMetastore.Client client;
+
+  public ThriftHiveMetastoreClient(String host, int port, Duration timeout) throws TException {
+    this.transport = new TSocket(host, port, (int) timeout.toMillis());
+    this.transport.open();
+    this.client = new ThriftHiveMetastore.Client(new TBinaryProtocol(transport));
+  }
+
+  @Override
+  public List<String> getAllDatabases() throws TException {
+    return client.get_all_databases();
+  }
+
+  @Override
+  public List<String> getAllTables(String databaseName) throws TException {
+    return client.get_all_tables(databaseName);
+  }
+
+  @Override
+  public List<Table> getTableObjectsByName(String databaseName, List<String> tableNames) throws TException {
+    GetTablesRequest request = new GetTablesRequest(databaseName);
+    request.setTblNames(tableNames);
+    return client.get_table_objects_by_name_req(request).getTables();
+  }
+
+  @Override
+  public void close() {
+    transport.close();
+  }
+}
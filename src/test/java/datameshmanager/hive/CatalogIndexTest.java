@@ -0,0 +1,36 @@
+package datameshmanager.hive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogIndexTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testLocation_fromFields() throws Exception {
+        assertEquals("hdfs://nn/warehouse/orders", CatalogIndex.location(Map.of("detailedTableInfo",
+                objectMapper.readTree("{\"tableType\":\"MANAGED_TABLE\",\"location\":\"hdfs://nn/warehouse/orders\"}"))));
+        // Impala DESCRIBE FORMATTED
+        assertEquals("hdfs://nn/warehouse/orders", CatalogIndex.location(Map.of("detailedTableInfo",
+                objectMapper.readTree("{\"Location\":\"hdfs://nn/warehouse/orders \"}"))));
+    }
+
+    @Test
+    void testLocation_fromStorageDescriptor() throws Exception {
+        assertEquals("file:/opt/hive/data/warehouse/hive_example", CatalogIndex.location(Map.of("detailedTableInfo",
+                objectMapper.readTree("{\"tableName\":\"hive_example\",\"sd\":{\"location\":\"file:/opt/hive/data/warehouse/hive_example\"}}"))));
+    }
+
+    @Test
+    void testLocation_fromRaw() {
+        assertEquals("hdfs://nn/warehouse/orders", CatalogIndex.location(Map.of("detailedTableInfoRaw",
+                "Table(tableName:orders, sd:StorageDescriptor(cols:[], location:hdfs://nn/warehouse/orders, inputFormat:x)")));
+        assertNull(CatalogIndex.location(Map.of("detailedTableInfoRaw", "Table(tableName:orders")));
+        assertNull(CatalogIndex.location(Map.of()));
+    }
+}
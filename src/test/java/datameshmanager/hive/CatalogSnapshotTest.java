@@ -0,0 +1,83 @@
+package datameshmanager.hive;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogSnapshotTest {
+
+    private CatalogSnapshot snapshot;
+
+    @BeforeEach
+    void setUp() {
+        snapshot = new CatalogSnapshot.Builder()
+                .add("sales", "orders", "hdfs://nn/warehouse/sales.db/orders",
+                        List.of(column("id"), column("customer_id"), column("dt")))
+                .add("sales", "customers", "hdfs://nn/warehouse/sales.db/customers",
+                        List.of(column("ID"), column("name")))
+                .add("finance", "invoices", "s3a://finance/invoices",
+                        List.of(column("id"), column("customer_id")))
+                .add("sales", "order_items", null, List.of(column("order_id")))
+                .build(42);
+    }
+
+    @Test
+    void testFind_byPrefix() {
+        assertEquals(List.of("sales.order_items", "sales.orders"), names(snapshot.find("SALES.ord", null, null)));
+        assertEquals(3, snapshot.find("sales.", null, null).size());
+        assertTrue(snapshot.find("marketing", null, null).isEmpty());
+    }
+
+    @Test
+    void testFind_byColumn() {
+        assertEquals(List.of("finance.invoices", "sales.orders"), names(snapshot.find(null, "Customer_ID", null)));
+        assertEquals(List.of("sales.orders"), names(snapshot.find("sales", "customer_id", null)));
+        assertEquals(List.of("finance.invoices", "sales.customers", "sales.orders"), names(snapshot.find(null, "id", null)));
+        assertTrue(snapshot.find(null, "unknown", null).isEmpty());
+    }
+
+    @Test
+    void testFind_byLocation() {
+        assertEquals(List.of("sales.customers", "sales.orders"), names(snapshot.find(null, null, "/sales.db/")));
+        assertEquals(List.of("finance.invoices"), names(snapshot.find(null, "id", "s3a://")));
+    }
+
+    @Test
+    void testGet() {
+        // Given
+        CatalogSnapshot.Table table = snapshot.get("Sales", "Orders");
+
+        // Then
+        assertNotNull(table);
+        assertEquals("sales.orders", table.qualifiedName());
+        assertEquals(3, table.columns().size());
+        assertNull(snapshot.get("sales", "order"));
+        assertEquals(4, snapshot.size());
+        assertEquals(42, snapshot.getSyncedAt());
+    }
+
+    @Test
+    void testBuild_replacesDuplicateTables() {
+        // When
+        CatalogSnapshot duplicate = new CatalogSnapshot.Builder()
+                .add("sales", "orders", "old", List.of(column("id")))
+                .add("sales", "orders", "new", List.of(column("id"), column("id")))
+                .build(0);
+
+        // Then
+        assertEquals(1, duplicate.size());
+        assertEquals("new", duplicate.get("sales", "orders").location());
+        assertEquals(1, duplicate.find(null, "id", null).size());
+    }
+
+    private static CatalogSnapshot.Column column(String name) {
+        return new CatalogSnapshot.Column(name, "string");
+    }
+
+    private static List<String> names(List<CatalogSnapshot.Table> tables) {
+        return tables.stream().map(CatalogSnapshot.Table::qualifiedName).toList();
+    }
+}
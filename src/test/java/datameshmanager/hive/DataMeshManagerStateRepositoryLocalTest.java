@@ -0,0 +1,125 @@
+package datameshmanager.hive;
+
+import datameshmanager.sdk.DataMeshManagerStateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataMeshManagerStateRepositoryLocalTest {
+
+    private InMemoryStateRepository remote;
+    private Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        remote = new InMemoryStateRepository();
+        file = Files.createTempDirectory("state").resolve("state.json");
+    }
+
+    @Test
+    void testBootstrapsFromRemoteWhenFileIsMissing() {
+        // Given
+        remote.state = Map.of("lastUpdatedAt", 1756241942000L);
+
+        // When
+        var repository = new DataMeshManagerStateRepositoryLocal(file, remote, Duration.ofHours(1));
+
+        // Then
+        assertEquals(1756241942000L, repository.getState().get("lastUpdatedAt"));
+        assertTrue(Files.exists(file));
+        repository.close();
+    }
+
+    @Test
+    void testServesSavedStateLocallyAndFlushesToRemote() {
+        // Given
+        var repository = new DataMeshManagerStateRepositoryLocal(file, remote, Duration.ofHours(1));
+
+        // When
+        repository.saveState(Map.of("lastUpdatedAt", 1L));
+        repository.saveState(Map.of("lastUpdatedAt", 2L));
+
+        // Then - nothing was written to the remote repository yet
+        assertEquals(0, remote.saves);
+        assertEquals(2L, repository.getState().get("lastUpdatedAt"));
+
+        // When
+        repository.flush();
+        repository.flush();
+
+        // Then - only the latest snapshot is written, once
+        assertEquals(1, remote.saves);
+        assertEquals(2L, remote.state.get("lastUpdatedAt"));
+        repository.close();
+    }
+
+    @Test
+    void testReloadsFromFileAfterRestart() {
+        // Given
+        var repository = new DataMeshManagerStateRepositoryLocal(file, remote, Duration.ofHours(1));
+        repository.saveState(Map.of("lastUpdatedAt", 42L));
+        repository.close();
+        remote.state = Map.of();
+
+        // When
+        var restarted = new DataMeshManagerStateRepositoryLocal(file, remote, Duration.ofHours(1));
+
+        // Then - small numbers are still read back as Long
+        assertEquals(42L, restarted.getState().get("lastUpdatedAt"));
+        restarted.close();
+    }
+
+    @Test
+    void testDoesNotPersistStateUntilRemoteStateWasRead() {
+        // Given
+        remote.state = Map.of("lastUpdatedAt", 1756241942000L);
+        remote.unavailable = true;
+        var repository = new DataMeshManagerStateRepositoryLocal(file, remote, Duration.ofHours(1));
+
+        // When
+        repository.saveState(Map.of("lastUpdatedAt", 1L));
+        repository.flush();
+
+        // Then - the state read while the remote was unavailable does not replace the remote state
+        assertEquals(1L, repository.getState().get("lastUpdatedAt"));
+        assertFalse(Files.exists(file));
+        assertEquals(0, remote.saves);
+
+        // When
+        remote.unavailable = false;
+
+        // Then
+        assertEquals(1756241942000L, repository.getState().get("lastUpdatedAt"));
+        assertTrue(Files.exists(file));
+        repository.flush();
+        assertEquals(0, remote.saves);
+        repository.close();
+    }
+
+    private static class InMemoryStateRepository implements DataMeshManagerStateRepository {
+        private Map<String, Object> state = new HashMap<>();
+        private int saves;
+        private boolean unavailable;
+
+        @Override
+        public Map<String, Object> getState() {
+            if (unavailable) {
+                throw new IllegalStateException("503 Service Unavailable");
+            }
+            return state;
+        }
+
+        @Override
+        public void saveState(Map<String, Object> state) {
+            this.state = state;
+            this.saves++;
+        }
+    }
+}
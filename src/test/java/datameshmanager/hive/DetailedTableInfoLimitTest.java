@@ -0,0 +1,82 @@
+package datameshmanager.hive;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DetailedTableInfoLimitTest {
+
+    private final DetailedTableInfoLimit limit = new DetailedTableInfoLimit(10);
+
+    @Test
+    void testTruncate() {
+        assertEquals(new DetailedTableInfoLimit.Text("Table(a:1)", false), limit.truncate("Table(a:1)"));
+        assertEquals(new DetailedTableInfoLimit.Text("Table(a:12", true), limit.truncate("Table(a:123)"));
+        assertEquals(new DetailedTableInfoLimit.Text(null, false), limit.truncate(null));
+    }
+
+    @Test
+    void testRead_fromCharacterStream() throws Exception {
+        ResultSet rs = JdbcFixtures.resultSetWithCharacterStreams(List.of("col_name", "data_type"),
+                new Object[]{"Detailed Table Information", "Table(a:123)"},
+                new Object[]{"Detailed Table Information", "Table(a:1)"},
+                new Object[]{"Detailed Table Information", null});
+
+        assertTrue(rs.next());
+        assertEquals(new DetailedTableInfoLimit.Text("Table(a:12", true), limit.read(rs, "data_type"));
+        assertTrue(rs.next());
+        assertEquals(new DetailedTableInfoLimit.Text("Table(a:1)", false), limit.read(rs, "data_type"));
+        assertTrue(rs.next());
+        assertEquals(new DetailedTableInfoLimit.Text(null, false), limit.read(rs, "data_type"));
+    }
+
+    @Test
+    void testRead_fallsBackToStringWithoutCharacterStreams() throws Exception {
+        // Given a driver like the Hive JDBC driver, which throws on getCharacterStream
+        ResultSet rs = JdbcFixtures.resultSet(List.of("col_name", "data_type"),
+                new Object[]{"Detailed Table Information", "Table(a:123)"},
+                new Object[]{"Detailed Table Information", null});
+
+        assertTrue(rs.next());
+        assertEquals(new DetailedTableInfoLimit.Text("Table(a:12", true), limit.read(rs, "data_type"));
+        assertTrue(rs.next());
+        assertEquals(new DetailedTableInfoLimit.Text(null, false), limit.read(rs, "data_type"));
+    }
+
+    @Test
+    void testAppend() {
+        StringBuilder builder = new StringBuilder();
+
+        assertTrue(limit.append(builder, "owner:"));
+        assertFalse(limit.append(builder, "hive\n"));
+        assertFalse(limit.append(builder, "location:"));
+        assertEquals("owner:hive", builder.toString());
+    }
+
+    @Test
+    void testInFlightByteBudget_admitsOversizedReservationWhenIdle() throws Exception {
+        InFlightByteBudget budget = new InFlightByteBudget(100);
+
+        assertFalse(budget.acquire(150));
+        assertEquals(150L, budget.getInFlightBytes());
+        budget.release(150);
+
+        assertFalse(budget.acquire(60));
+        Thread releaser = new Thread(() -> {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            budget.release(60);
+        });
+        releaser.start();
+        // waits until the first reservation is released
+        assertTrue(budget.acquire(60));
+        releaser.join();
+        assertEquals(60L, budget.getInFlightBytes());
+    }
+}
@@ -0,0 +1,248 @@
+package datameshmanager.hive;
+
+import datameshmanager.sdk.DataMeshManagerAssetsProvider.AssetCallback;
+import datameshmanager.sdk.DataMeshManagerStateRepository;
+import datameshmanager.sdk.client.model.Asset;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HiveAssetsSupplierTest {
+
+    private final InMemoryStateRepository stateRepository = new InMemoryStateRepository();
+    private final CatalogIndex catalogIndex = new CatalogIndex();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testSysViewsFallBackToDescribe() {
+        // Given a server whose sys views pass the probe but fail when read
+        JdbcFixtures.FixtureConnection connection = hive()
+                .fail(HiveSysViewsReader.DATABASES_QUERY)
+                .on("SHOW DATABASES", List.of("database_name"), new Object[]{"sales"})
+                .on("SHOW TABLES IN `sales`", List.of("tab_name"), new Object[]{"orders"})
+                .on("DESCRIBE EXTENDED `sales`.`orders`", List.of("col_name", "data_type", "comment"),
+                        new Object[]{"id", "bigint", null});
+        HiveAssetsSupplier supplier = supplier("sys-views-fallback", connection, ExtractionMode.SYS_VIEWS, false);
+        Assets assets = new Assets();
+
+        // When
+        supplier.fetchAssets(assets);
+
+        // Then
+        assertTrue(connection.executed().contains(HiveSysViewsReader.DATABASES_QUERY));
+        assertTrue(connection.executed().contains("DESCRIBE EXTENDED `sales`.`orders`"));
+        assertEquals(List.of("hive.sales", "hive.sales.orders"), assets.ids());
+        assertEquals("id", assets.get("hive.sales.orders").getColumns().get(0).getName());
+        assertNotNull(stateRepository.state.get("lastUpdatedAt"));
+        assertEquals(1, catalogIndex.getCurrent().size());
+    }
+
+    @Test
+    void testBulkDescribe_holdsEachTableInTheInFlightBudget() {
+        // Given
+        JdbcFixtures.FixtureConnection connection = hive()
+                .on("SHOW DATABASES", List.of("database_name"), new Object[]{"sales"})
+                .on("SHOW TABLE EXTENDED IN `sales`", List.of("tab_name"),
+                        new Object[]{"tableName:customers"},
+                        new Object[]{"columns:struct columns { i64 id}"},
+                        new Object[]{"tableName:orders"},
+                        new Object[]{"columns:struct columns { i64 id, decimal(10,2) amount}"});
+        HiveAssetsSupplier supplier = supplier("bulk-describe", connection, ExtractionMode.DESCRIBE, true);
+        List<Double> inFlight = new ArrayList<>();
+        Assets assets = new Assets() {
+            @Override
+            public void onAssetUpdated(Asset asset) {
+                super.onAssetUpdated(asset);
+                inFlight.add(meterRegistry.get("hive.extraction.in.flight").gauge().value());
+            }
+        };
+
+        // When
+        supplier.fetchAssets(assets);
+
+        // Then
+        assertEquals(List.of("hive.sales", "hive.sales.customers", "hive.sales.orders"), assets.ids());
+        assertEquals(0.0, inFlight.get(0));
+        assertTrue(inFlight.get(1) > 0);
+        assertTrue(inFlight.get(2) > inFlight.get(1));
+        assertEquals(0.0, meterRegistry.get("hive.extraction.in.flight").gauge().value());
+        assertEquals(2, assets.get("hive.sales.orders").getColumns().size());
+    }
+
+    @Test
+    void testSysViews_cycleStoppedBeforeTheFirstTableIsResumedFromTheBeginning() {
+        // Given
+        JdbcFixtures.FixtureConnection connection = hive()
+                .on(HiveSysViewsReader.DATABASES_QUERY, List.of("NAME"), new Object[]{"finance"}, new Object[]{"sales"})
+                .on(HiveSysViewsReader.PARTITION_KEYS_QUERY, List.of("NAME", "TBL_NAME", "PKEY_NAME", "PKEY_TYPE", "PKEY_COMMENT"))
+                .on(HiveSysViewsReader.COLUMNS_QUERY, List.of("NAME", "TBL_NAME", "TBL_TYPE", "OWNER", "LOCATION",
+                                "INPUT_FORMAT", "OUTPUT_FORMAT", "COLUMN_NAME", "TYPE_NAME", "COMMENT"),
+                        new Object[]{"finance", "invoices", "MANAGED_TABLE", "hive", null, null, null, "id", "bigint", null},
+                        new Object[]{"sales", "orders", "MANAGED_TABLE", "hive", null, null, null, "id", "bigint", null});
+        HiveAssetsSupplier stopping = supplier("sys-views-stop", connection, ExtractionMode.SYS_VIEWS, false);
+        Assets stoppedCycle = new Assets() {
+            @Override
+            public void onAssetUpdated(Asset asset) {
+                super.onAssetUpdated(asset);
+                if (asset.getId().equals("hive.sales")) {
+                    // e.g. shutdown, after all databases were published but before the first table
+                    stopping.cancel();
+                }
+            }
+        };
+
+        // When
+        stopping.fetchAssets(stoppedCycle);
+
+        // Then - no table was completed, so there is no checkpoint
+        assertEquals(List.of("hive.finance", "hive.sales"), stoppedCycle.ids());
+        assertNull(stateRepository.state.get(SyncCycle.CHECKPOINT_DATABASE));
+
+        // When - the next cycle, after a restart
+        Assets nextCycle = new Assets();
+        supplier("sys-views-stop", connection, ExtractionMode.SYS_VIEWS, false).fetchAssets(nextCycle);
+
+        // Then
+        assertEquals(List.of("hive.finance", "hive.sales", "hive.finance.invoices", "hive.sales.orders"), nextCycle.ids());
+        assertEquals(2, catalogIndex.getCurrent().size());
+    }
+
+    @Test
+    void testDescribe_cycleStoppedInTheMiddleResumesInNameOrder() {
+        // Given a server that does not list the tables in the order of String.compareTo
+        JdbcFixtures.FixtureConnection connection = hive()
+                .on("SHOW DATABASES", List.of("database_name"), new Object[]{"sales"})
+                .on("SHOW TABLES IN `sales`", List.of("tab_name"), new Object[]{"orders"}, new Object[]{"order_items"})
+                .on("DESCRIBE EXTENDED `sales`.", List.of("col_name", "data_type", "comment"),
+                        new Object[]{"id", "bigint", null});
+        HiveAssetsSupplier stopping = supplier("describe-stop", connection, ExtractionMode.DESCRIBE, false);
+        Assets stoppedCycle = new Assets() {
+            @Override
+            public void onAssetUpdated(Asset asset) {
+                super.onAssetUpdated(asset);
+                if (asset.getId().startsWith("hive.sales.")) {
+                    stopping.cancel();
+                }
+            }
+        };
+
+        // When
+        stopping.fetchAssets(stoppedCycle);
+
+        // Then
+        assertEquals(List.of("hive.sales", "hive.sales.order_items"), stoppedCycle.ids());
+        assertEquals("order_items", stateRepository.state.get(SyncCycle.CHECKPOINT_TABLE));
+
+        // When - the next cycle, after a restart
+        Assets nextCycle = new Assets();
+        supplier("describe-stop", connection, ExtractionMode.DESCRIBE, false).fetchAssets(nextCycle);
+
+        // Then
+        assertEquals(List.of("hive.sales", "hive.sales.orders"), nextCycle.ids());
+        assertNull(stateRepository.state.get(SyncCycle.CHECKPOINT_DATABASE));
+    }
+
+    @Test
+    void testBulkDescribe_cycleStoppedInTheMiddleResumesFromTheFirstTableOfTheDatabase() {
+        // Given
+        JdbcFixtures.FixtureConnection connection = hive()
+                .on("SHOW DATABASES", List.of("database_name"), new Object[]{"sales"})
+                .on("SHOW TABLE EXTENDED IN `sales`", List.of("tab_name"),
+                        new Object[]{"tableName:orders"},
+                        new Object[]{"columns:struct columns { i64 id}"},
+                        new Object[]{"tableName:order_items"},
+                        new Object[]{"columns:struct columns { i64 id}"});
+        HiveAssetsSupplier stopping = supplier("bulk-describe-stop", connection, ExtractionMode.DESCRIBE, true);
+        Assets stoppedCycle = new Assets() {
+            @Override
+            public void onAssetUpdated(Asset asset) {
+                super.onAssetUpdated(asset);
+                if (asset.getId().startsWith("hive.sales.")) {
+                    stopping.cancel();
+                }
+            }
+        };
+
+        // When
+        stopping.fetchAssets(stoppedCycle);
+
+        // Then - no table checkpoint, as the tables come in the order of the server
+        assertEquals(List.of("hive.sales", "hive.sales.orders"), stoppedCycle.ids());
+        assertEquals("sales", stateRepository.state.get(SyncCycle.CHECKPOINT_DATABASE));
+        assertNull(stateRepository.state.get(SyncCycle.CHECKPOINT_TABLE));
+
+        // When - the next cycle, after a restart
+        Assets nextCycle = new Assets();
+        supplier("bulk-describe-stop", connection, ExtractionMode.DESCRIBE, true).fetchAssets(nextCycle);
+
+        // Then
+        assertEquals(List.of("hive.sales", "hive.sales.orders", "hive.sales.order_items"), nextCycle.ids());
+        assertNull(stateRepository.state.get(SyncCycle.CHECKPOINT_DATABASE));
+    }
+
+    /**
+     * Answers the probes of a Hive 4 server with sys views.
+     */
+    static JdbcFixtures.FixtureConnection hive() {
+        return JdbcFixtures.connection()
+                .on("SHOW TABLES IN `default`", List.of("tab_name"), new Object[]{"probe"})
+                .on("SHOW TABLE EXTENDED IN `default`", List.of("tab_name"))
+                .on("SHOW DATABASES LIKE", List.of("database_name"), new Object[]{"default"})
+                .on(HiveSysViewsReader.PROBE_QUERY, List.of("NAME"), new Object[]{"default"});
+    }
+
+    HiveAssetsSupplier supplier(String name, JdbcFixtures.FixtureConnection connection, ExtractionMode extractionMode,
+            boolean bulkDescribe) {
+        HiveProperties properties = new HiveProperties(
+                new HiveProperties.ConnectionProperties("localhost", 10000, "default", "hive", "",
+                        JdbcFixtures.FixtureDriver.class.getName(), JdbcFixtures.FixtureDriver.register(name, connection),
+                        HiveDialect.HIVE),
+                null,
+                new HiveProperties.AssetsProperties(true, "hive-assets", null, DetailedTableInfoMode.JSON, "hive",
+                        null, extractionMode, bulkDescribe, null, null, null, null, null, null, null,
+                        null, null, null, null, null, null, null));
+        return new HiveAssetsSupplier(properties, stateRepository, new SyncProfiler(1, 1), catalogIndex,
+                meterRegistry);
+    }
+
+    static class Assets implements AssetCallback {
+        private final List<Asset> updated = new ArrayList<>();
+
+        @Override
+        public void onAssetUpdated(Asset asset) {
+            updated.add(asset);
+        }
+
+        @Override
+        public void onAssetDeleted(String assetId) {
+        }
+
+        List<String> ids() {
+            return updated.stream().map(Asset::getId).toList();
+        }
+
+        Asset get(String id) {
+            return updated.stream().filter(asset -> asset.getId().equals(id)).findFirst().orElseThrow();
+        }
+    }
+
+    static class InMemoryStateRepository implements DataMeshManagerStateRepository {
+        private Map<String, Object> state = new HashMap<>();
+
+        @Override
+        public Map<String, Object> getState() {
+            return state;
+        }
+
+        @Override
+        public void saveState(Map<String, Object> state) {
+            this.state = new HashMap<>(state);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package datameshmanager.hive;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HiveDescribeParserTest {
+
+    private static final List<String> LABELS = List.of("col_name", "data_type", "comment");
+    private static final String TABLE_INFO = "Table(tableName:hive_example, dbName:default, owner:hive, "
+            + "sd:StorageDescriptor(cols:[FieldSchema(name:a, type:string, comment:null)], "
+            + "location:file:/opt/hive/data/warehouse/hive_example), tableType:EXTERNAL_TABLE)";
+
+    @Test
+    void testParse_describeExtended() throws Exception {
+        // Given the output of DESCRIBE EXTENDED on Hive 4
+        ResultSet rs = JdbcFixtures.resultSet(LABELS,
+                new Object[]{"a", "string", null},
+                new Object[]{"b", "int", "the b"},
+                new Object[]{"c", "int", null},
+                new Object[]{"", null, null},
+                new Object[]{"# Partition Information", null, null},
+                new Object[]{"# col_name", "data_type", "comment"},
+                new Object[]{"c", "int", null},
+                new Object[]{"", null, null},
+                new Object[]{"Detailed Table Information", TABLE_INFO, ""});
+
+        // When
+        TableDescription table = new HiveDescribeParser(DetailedTableInfoLimit.UNLIMITED)
+                .parse("default", "hive_example", rs);
+
+        // Then
+        assertEquals(List.of(
+                new ColumnDescription("a", "string", null),
+                new ColumnDescription("b", "int", "the b"),
+                new ColumnDescription("c", "int", null)), table.columns());
+        assertEquals(TABLE_INFO, table.detailedTableInfo());
+        assertNull(table.detailedTableInfoFields());
+        assertFalse(table.detailedTableInfoTruncated());
+    }
+
+    @Test
+    void testParse_describeWithoutDetailedInformation() throws Exception {
+        ResultSet rs = JdbcFixtures.resultSet(LABELS, new Object[]{"a", "string", null});
+
+        TableDescription table = new HiveDescribeParser(DetailedTableInfoLimit.UNLIMITED).parse("default", "t", rs);
+
+        assertEquals(1, table.columns().size());
+        assertNull(table.detailedTableInfo());
+    }
+
+    @Test
+    void testParse_truncatesDetailedInformation() throws Exception {
+        ResultSet rs = JdbcFixtures.resultSet(LABELS,
+                new Object[]{"a", "string", null},
+                new Object[]{"", null, null},
+                new Object[]{"Detailed Table Information", TABLE_INFO, ""});
+
+        TableDescription table = new HiveDescribeParser(new DetailedTableInfoLimit(20)).parse("default", "t", rs);
+
+        assertEquals(TABLE_INFO.substring(0, 20), table.detailedTableInfo());
+        assertTrue(table.detailedTableInfoTruncated());
+    }
+}
@@ -0,0 +1,59 @@
+package datameshmanager.hive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HiveDialectCapabilitiesTest {
+
+    @Test
+    void testDetect() throws Exception {
+        assertEquals(HiveDialect.HIVE, HiveDialect.detect(JdbcFixtures.connection().get().getMetaData()));
+        assertEquals(HiveDialect.IMPALA, HiveDialect.detect(
+                JdbcFixtures.connection().productName("Impala").get().getMetaData()));
+    }
+
+    @Test
+    void testProbe_hive() throws Exception {
+        // Given
+        JdbcFixtures.FixtureConnection connection = JdbcFixtures.connection()
+                .on("SHOW TABLES IN `default`", List.of("tab_name"), new Object[]{"hive_example"})
+                .on("SHOW TABLE EXTENDED IN `default`", List.of("tab_name"))
+                .on("SHOW DATABASES LIKE", List.of("database_name"), new Object[]{"default"})
+                .on(HiveSysViewsReader.PROBE_QUERY, List.of("NAME"), new Object[]{"default"});
+
+        // When
+        HiveDialectCapabilities capabilities = HiveDialectCapabilities.probe(connection.get(), null, "default");
+
+        // Then
+        assertEquals(new HiveDialectCapabilities(HiveDialect.HIVE, true, true, true, true), capabilities);
+    }
+
+    @Test
+    void testProbe_impala() throws Exception {
+        // Given Impala ignoring the | alternatives of LIKE
+        JdbcFixtures.FixtureConnection connection = JdbcFixtures.connection()
+                .productName("Impala")
+                .on("SHOW TABLES IN `default`", List.of("name"), new Object[]{"t"})
+                .on("SHOW DATABASES LIKE", List.of("name"));
+
+        // When
+        HiveDialectCapabilities capabilities = HiveDialectCapabilities.probe(connection.get(), null, "default");
+
+        // Then SHOW TABLE EXTENDED and the sys views are not even tried
+        assertEquals(new HiveDialectCapabilities(HiveDialect.IMPALA, true, false, false, false), capabilities);
+        assertTrue(connection.executed().stream().noneMatch(query -> query.startsWith("SHOW TABLE EXTENDED")));
+        assertFalse(connection.executed().contains(HiveSysViewsReader.PROBE_QUERY));
+    }
+
+    @Test
+    void testProbe_configuredDialect() throws Exception {
+        JdbcFixtures.FixtureConnection connection = JdbcFixtures.connection().productName("Impala");
+
+        HiveDialectCapabilities capabilities = HiveDialectCapabilities.probe(connection.get(), HiveDialect.HIVE, "default");
+
+        assertEquals(new HiveDialectCapabilities(HiveDialect.HIVE, false, false, false, false), capabilities);
+    }
+}
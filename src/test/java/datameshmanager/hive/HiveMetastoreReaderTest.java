@@ -0,0 +1,137 @@
+package datameshmanager.hive;
+
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.metastore.api.SerDeInfo;
+import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
+import org.apache.hadoop.hive.metastore.api.Table;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HiveMetastoreReaderTest {
+
+    @Test
+    void testRead_fetchesFilteredTablesInBatches() throws Exception {
+        // Given
+        StubMetastoreClient client = new StubMetastoreClient();
+        client.addTable("sales", table("orders"));
+        client.addTable("sales", table("customers"));
+        client.addTable("sales", table("orders_tmp"));
+        client.addTable("sales", table("products"));
+        client.addTable("scratch", table("anything"));
+        List<String> databases = new ArrayList<>();
+        List<String> tables = new ArrayList<>();
+
+        // When
+        new HiveMetastoreReader(2, DetailedTableInfoLimit.UNLIMITED).read(client,
+                databaseName -> !databaseName.equals("scratch"),
+                (databaseName, tableName) -> !tableName.endsWith("_tmp"),
+                databases::add,
+                table -> tables.add(table.databaseName() + "." + table.tableName()));
+
+        // Then
+        assertEquals(List.of("sales"), databases);
+        assertEquals(List.of("sales.customers", "sales.orders", "sales.products"), tables);
+        assertEquals(List.of(List.of("customers", "orders"), List.of("products")), client.batches);
+    }
+
+    @Test
+    void testToTableDescription() {
+        // Given
+        Table table = table("orders");
+        table.setPartitionKeys(List.of(new FieldSchema("dt", "string", "partition date")));
+        table.getSd().setLocation("hdfs://namenode/warehouse/sales.db/orders");
+        SerDeInfo serDeInfo = new SerDeInfo();
+        serDeInfo.setSerializationLib("org.apache.hadoop.hive.ql.io.orc.OrcSerde");
+        table.getSd().setSerdeInfo(serDeInfo);
+        table.setParameters(Map.of("numRows", "42"));
+
+        // When
+        TableDescription description = HiveMetastoreReader.toTableDescription("sales", table,
+                DetailedTableInfoLimit.UNLIMITED);
+
+        // Then
+        assertEquals("sales", description.databaseName());
+        assertEquals("orders", description.tableName());
+        assertEquals(3, description.columns().size());
+        assertEquals("id", description.columns().get(0).name());
+        assertEquals("bigint", description.columns().get(0).type());
+        assertEquals("dt", description.columns().get(2).name());
+        assertEquals("partition date", description.columns().get(2).comment());
+        assertNull(description.detailedTableInfo());
+        assertFalse(description.detailedTableInfoTruncated());
+        Map<String, Object> fields = description.detailedTableInfoFields();
+        assertEquals("MANAGED_TABLE", fields.get("tableType"));
+        assertEquals("hdfs://namenode/warehouse/sales.db/orders", fields.get("location"));
+        assertEquals("org.apache.hadoop.hive.ql.io.orc.OrcSerde", fields.get("serializationLib"));
+        assertEquals(List.of("dt"), fields.get("partitionKeys"));
+        assertEquals(Map.of("numRows", "42"), fields.get("parameters"));
+    }
+
+    @Test
+    void testToTableDescription_truncatesParameters() {
+        // Given a table with a large inlined parameter
+        Table table = table("orders");
+        Map<String, String> parameters = new LinkedHashMap<>();
+        parameters.put("numRows", "42");
+        parameters.put("avro.schema.literal", "x".repeat(1000));
+        parameters.put("transient_lastDdlTime", "1756241942");
+        table.setParameters(parameters);
+
+        // When
+        TableDescription description = HiveMetastoreReader.toTableDescription("sales", table,
+                new DetailedTableInfoLimit(200));
+
+        // Then - the parameters end before the large one
+        assertTrue(description.detailedTableInfoTruncated());
+        assertEquals(Map.of("numRows", "42"), description.detailedTableInfoFields().get("parameters"));
+        assertEquals("MANAGED_TABLE", description.detailedTableInfoFields().get("tableType"));
+        assertEquals(2, description.columns().size());
+        assertTrue(TableDescription.sizeOf(description.detailedTableInfoFields()) <= 200);
+    }
+
+    private static Table table(String name) {
+        StorageDescriptor sd = new StorageDescriptor();
+        sd.setCols(List.of(new FieldSchema("id", "bigint", null), new FieldSchema("name", "string", "display name")));
+        Table table = new Table();
+        table.setTableName(name);
+        table.setTableType("MANAGED_TABLE");
+        table.setSd(sd);
+        return table;
+    }
+
+    private static class StubMetastoreClient implements HiveMetastoreClient {
+
+        private final Map<String, Map<String, Table>> tables = new LinkedHashMap<>();
+        private final List<List<String>> batches = new ArrayList<>();
+
+        void addTable(String databaseName, Table table) {
+            tables.computeIfAbsent(databaseName, k -> new LinkedHashMap<>()).put(table.getTableName(), table);
+        }
+
+        @Override
+        public List<String> getAllDatabases() {
+            return new ArrayList<>(tables.keySet());
+        }
+
+        @Override
+        public List<String> getAllTables(String databaseName) {
+            return new ArrayList<>(tables.get(databaseName).keySet());
+        }
+
+        @Override
+        public List<Table> getTableObjectsByName(String databaseName, List<String> tableNames) {
+            batches.add(List.copyOf(tableNames));
+            return tableNames.stream().map(tables.get(databaseName)::get).toList();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package datameshmanager.hive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HiveQueryPlannerTest {
+
+    private static final HiveDialectCapabilities HIVE_4 =
+            new HiveDialectCapabilities(HiveDialect.HIVE, true, true, true, true);
+    private static final HiveDialectCapabilities IMPALA =
+            new HiveDialectCapabilities(HiveDialect.IMPALA, false, false, false, false);
+
+    private final NameFilter salesTables = NameFilter.of(List.of("sales_*", "orders"), null);
+
+    @Test
+    void testStatements_hive() {
+        HiveQueryPlanner planner = new HiveQueryPlanner(HIVE_4, null, true, DetailedTableInfoLimit.UNLIMITED);
+
+        assertEquals("SHOW DATABASES LIKE 'sales_*|orders'", planner.showDatabases(salesTables));
+        assertFalse(planner.requiresUseDatabase());
+        assertEquals("SHOW TABLES IN `sales` LIKE 'sales_*|orders'", planner.showTables("sales", salesTables));
+        assertTrue(planner.usesBulkDescribe());
+        assertEquals("SHOW TABLE EXTENDED IN `sales` LIKE 'sales_*|orders'", planner.describeTables("sales", salesTables));
+        assertEquals("SHOW TABLE EXTENDED IN `sales` LIKE '*'", planner.describeTables("sales", NameFilter.of(null, null)));
+        assertEquals("DESCRIBE EXTENDED `sales`.`orders`", planner.describeTable("sales", "orders"));
+    }
+
+    @Test
+    void testStatements_impala() {
+        HiveQueryPlanner planner = new HiveQueryPlanner(IMPALA, DetailedTableInfoMode.RAW, true,
+                DetailedTableInfoLimit.UNLIMITED);
+
+        // no LIKE push-down and no SHOW TABLES IN
+        assertEquals("SHOW DATABASES", planner.showDatabases(salesTables));
+        assertTrue(planner.requiresUseDatabase());
+        assertEquals("USE `sales`", planner.useDatabase("sales"));
+        assertEquals("SHOW TABLES", planner.showTables("sales", salesTables));
+        assertFalse(planner.usesBulkDescribe());
+        assertEquals("DESCRIBE FORMATTED `sales`.`orders`", planner.describeTable("sales", "orders"));
+    }
+
+    @Test
+    void testStatements_ignoredDetailedInformation() {
+        assertEquals("DESCRIBE `sales`.`orders`",
+                new HiveQueryPlanner(HIVE_4, DetailedTableInfoMode.IGNORE, false, DetailedTableInfoLimit.UNLIMITED)
+                        .describeTable("sales", "orders"));
+        assertEquals("DESCRIBE `sales`.`orders`",
+                new HiveQueryPlanner(IMPALA, DetailedTableInfoMode.IGNORE, false, DetailedTableInfoLimit.UNLIMITED)
+                        .describeTable("sales", "orders"));
+        assertFalse(new HiveQueryPlanner(HIVE_4, null, false, DetailedTableInfoLimit.UNLIMITED).usesBulkDescribe());
+    }
+
+    @Test
+    void testParseTable_usesTheParserOfTheDialect() throws Exception {
+        HiveQueryPlanner planner = new HiveQueryPlanner(IMPALA, null, false, DetailedTableInfoLimit.UNLIMITED);
+
+        TableDescription table = planner.parseTable("sales", "orders", ImpalaDescribeParserTest.describeFormatted());
+
+        assertEquals("MANAGED_TABLE", table.detailedTableInfoFields().get("Table Type"));
+    }
+
+    @Test
+    void testQuoteIdentifier() {
+        assertEquals("`sales_2024`", HiveQueryPlanner.quoteIdentifier("sales_2024"));
+        assertEquals("`salesDROPTABLEx`", HiveQueryPlanner.quoteIdentifier("sales`; DROP TABLE x"));
+        assertThrows(IllegalArgumentException.class, () -> HiveQueryPlanner.quoteIdentifier("`;"));
+    }
+}
@@ -0,0 +1,120 @@
+package datameshmanager.hive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HiveShowTableExtendedParserTest {
+
+    @Test
+    void testParse() throws Exception {
+        // Given the output of SHOW TABLE EXTENDED IN `default` LIKE '*' on Hive 4
+        var rs = JdbcFixtures.lines(
+                "tableName:events",
+                "owner:hive",
+                "location:file:/opt/hive/data/warehouse/events",
+                "inputformat:org.apache.hadoop.hive.ql.io.orc.OrcInputFormat",
+                "outputformat:org.apache.hadoop.hive.ql.io.orc.OrcOutputFormat",
+                "columns:struct columns { i64 id, bool active, list<string> tags, map<string,i32> counts, "
+                        + "struct<user:string,scores:list<i64>> payload, decimal(10,2) price, byte flags}",
+                "partitioned:true",
+                "partitionColumns:struct partition_columns { string dt}",
+                "totalNumberFiles:1",
+                "totalFileSize:482",
+                "maxFileSize:482",
+                "minFileSize:482",
+                "lastAccessTime:0",
+                "lastUpdateTime:1756241942000",
+                "",
+                "tableName:hive_example",
+                "owner:hive",
+                "location:file:/opt/hive/data/warehouse/hive_example",
+                "inputformat:org.apache.hadoop.mapred.TextInputFormat",
+                "outputformat:org.apache.hadoop.hive.ql.io.HiveIgnoreKeyTextOutputFormat",
+                "columns:struct columns { string a, i32 b}",
+                "partitioned:true",
+                "partitionColumns:struct partition_columns { i32 c}",
+                "");
+
+        // When
+        List<TableDescription> tables = new ArrayList<>();
+        new HiveShowTableExtendedParser(DetailedTableInfoLimit.UNLIMITED).parse("default", rs, tables::add);
+
+        // Then
+        assertEquals(2, tables.size());
+        TableDescription events = tables.get(0);
+        assertEquals("events", events.tableName());
+        assertEquals(List.of(
+                new ColumnDescription("id", "bigint", null),
+                new ColumnDescription("active", "boolean", null),
+                new ColumnDescription("tags", "array<string>", null),
+                new ColumnDescription("counts", "map<string,int>", null),
+                new ColumnDescription("payload", "struct<user:string,scores:array<bigint>>", null),
+                new ColumnDescription("price", "decimal(10,2)", null),
+                new ColumnDescription("flags", "tinyint", null),
+                new ColumnDescription("dt", "string", null)), events.columns());
+        assertEquals("file:/opt/hive/data/warehouse/events", events.detailedTableInfoFields().get("location"));
+        assertFalse(events.detailedTableInfoFields().containsKey("columns"));
+        assertTrue(events.detailedTableInfo().startsWith("tableName:events\nowner:hive\n"));
+
+        TableDescription example = tables.get(1);
+        assertEquals(List.of(
+                new ColumnDescription("a", "string", null),
+                new ColumnDescription("b", "int", null),
+                new ColumnDescription("c", "int", null)), example.columns());
+    }
+
+    @Test
+    void testParse_truncatesRawFormAndFields() throws Exception {
+        // Given
+        var rs = JdbcFixtures.lines(
+                "tableName:hive_example",
+                "owner:hive",
+                "location:file:/opt/hive/data/warehouse/hive_example",
+                "columns:struct columns { string a, i32 b}",
+                "partitioned:true",
+                "partitionColumns:struct partition_columns { i32 c}");
+        List<TableDescription> tables = new ArrayList<>();
+
+        // When
+        new HiveShowTableExtendedParser(new DetailedTableInfoLimit(60)).parse("default", rs, tables::add);
+
+        // Then - the fields end where the raw form was cut, but all columns are kept
+        TableDescription table = tables.get(0);
+        assertTrue(table.detailedTableInfoTruncated());
+        assertEquals(60, table.detailedTableInfo().length());
+        assertEquals(Map.of("tableName", "hive_example", "owner", "hive"), table.detailedTableInfoFields());
+        assertEquals(3, table.columns().size());
+    }
+
+    @Test
+    void testToHiveType_translatesNestedTypesButNotFieldNames() {
+        assertEquals("map<string,array<int>>", HiveShowTableExtendedParser.toHiveType("map<string,list<i32>>"));
+        assertEquals("struct<list:array<boolean>,i64:bigint>",
+                HiveShowTableExtendedParser.toHiveType("struct<list:list<bool>,i64:i64>"));
+        assertEquals("uniontype<smallint,varchar(20)>", HiveShowTableExtendedParser.toHiveType("uniontype<i16,varchar(20)>"));
+        assertEquals("string", HiveShowTableExtendedParser.toHiveType("string"));
+    }
+
+    @Test
+    void testParseColumns_typesAreParseableForNestedColumns() {
+        HiveTypeParser typeParser = new HiveTypeParser(10);
+
+        List<ColumnDescription> columns = HiveShowTableExtendedParser.parseColumns(
+                "struct columns { list<struct<x:i32>> points}");
+
+        assertEquals("array<struct<x:int>>", columns.get(0).type());
+        assertEquals("element.x",
+                typeParser.parse(columns.get(0).type()).nestedColumns().get(1).name());
+    }
+
+    @Test
+    void testParseColumns_withEmptyPartitionColumns() {
+        assertTrue(HiveShowTableExtendedParser.parseColumns("").isEmpty());
+        assertTrue(HiveShowTableExtendedParser.parseColumns(null).isEmpty());
+    }
+}
@@ -0,0 +1,98 @@
+package datameshmanager.hive;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HiveSysViewsReaderTest {
+
+    private static final List<String> COLUMNS = List.of("NAME", "TBL_NAME", "TBL_TYPE", "OWNER", "LOCATION",
+            "INPUT_FORMAT", "OUTPUT_FORMAT", "COLUMN_NAME", "TYPE_NAME", "COMMENT");
+    private static final String PARQUET_INPUT = "org.apache.hadoop.hive.ql.io.parquet.MapredParquetInputFormat";
+    private static final String PARQUET_OUTPUT = "org.apache.hadoop.hive.ql.io.parquet.MapredParquetOutputFormat";
+
+    @Test
+    void testRead() throws Exception {
+        // Given
+        JdbcFixtures.FixtureConnection connection = JdbcFixtures.connection()
+                .on(HiveSysViewsReader.DATABASES_QUERY, List.of("NAME"),
+                        new Object[]{"default"}, new Object[]{"sales"})
+                .on(HiveSysViewsReader.PARTITION_KEYS_QUERY, List.of("NAME", "TBL_NAME", "PKEY_NAME", "PKEY_TYPE", "PKEY_COMMENT"),
+                        new Object[]{"sales", "orders", "year", "int", null},
+                        new Object[]{"sales", "orders", "month", "int", "calendar month"})
+                .on(HiveSysViewsReader.COLUMNS_QUERY, COLUMNS,
+                        new Object[]{"default", "empty_view", "VIRTUAL_VIEW", "hive", null, null, null, null, null, null},
+                        new Object[]{"sales", "customers", "EXTERNAL_TABLE", "hive", "s3a://bucket/customers",
+                                PARQUET_INPUT, PARQUET_OUTPUT, "id", "bigint", null},
+                        new Object[]{"sales", "orders", "MANAGED_TABLE", "etl", "hdfs://nn/warehouse/sales.db/orders",
+                                PARQUET_INPUT, PARQUET_OUTPUT, "id", "bigint", "order id"},
+                        new Object[]{"sales", "orders", "MANAGED_TABLE", "etl", "hdfs://nn/warehouse/sales.db/orders",
+                                PARQUET_INPUT, PARQUET_OUTPUT, "amount", "decimal(10,2)", null});
+        List<String> databases = new ArrayList<>();
+        List<TableDescription> tables = new ArrayList<>();
+
+        // When
+        new HiveSysViewsReader(1000).read(connection.get(), databases::add, tables::add);
+
+        // Then
+        assertEquals(List.of("default", "sales"), databases);
+        assertEquals(3, tables.size());
+
+        // a table without columns, from the LEFT JOIN
+        TableDescription view = tables.get(0);
+        assertEquals("default", view.databaseName());
+        assertEquals("empty_view", view.tableName());
+        assertEquals(List.of(), view.columns());
+        assertEquals("VIRTUAL_VIEW", view.detailedTableInfoFields().get("tableType"));
+
+        TableDescription customers = tables.get(1);
+        assertEquals(List.of(new ColumnDescription("id", "bigint", null)), customers.columns());
+        assertEquals("s3a://bucket/customers", customers.detailedTableInfoFields().get("location"));
+
+        // columns grouped by table, partition keys appended in their order
+        TableDescription orders = tables.get(2);
+        assertEquals(List.of(
+                new ColumnDescription("id", "bigint", "order id"),
+                new ColumnDescription("amount", "decimal(10,2)", null),
+                new ColumnDescription("year", "int", null),
+                new ColumnDescription("month", "int", "calendar month")), orders.columns());
+        assertEquals(Map.of(
+                "tableType", "MANAGED_TABLE",
+                "owner", "etl",
+                "location", "hdfs://nn/warehouse/sales.db/orders",
+                "inputFormat", PARQUET_INPUT,
+                "outputFormat", PARQUET_OUTPUT), orders.detailedTableInfoFields());
+        assertNull(orders.detailedTableInfo());
+        assertFalse(orders.detailedTableInfoTruncated());
+    }
+
+    @Test
+    void testRead_failsWhenTheSysViewsFail() {
+        JdbcFixtures.FixtureConnection connection = JdbcFixtures.connection()
+                .on(HiveSysViewsReader.DATABASES_QUERY, List.of("NAME"), new Object[]{"sales"})
+                .on(HiveSysViewsReader.PARTITION_KEYS_QUERY, List.of("NAME", "TBL_NAME", "PKEY_NAME", "PKEY_TYPE", "PKEY_COMMENT"))
+                .fail(HiveSysViewsReader.COLUMNS_QUERY);
+
+        assertThrows(SQLException.class, () ->
+                new HiveSysViewsReader(null).read(connection.get(), databaseName -> {}, table -> {}));
+    }
+
+    @Test
+    void testRead_failsWhenTheServerOrdersNamesDifferently() {
+        // Given a collation that ignores the underscore, unlike String.compareTo
+        JdbcFixtures.FixtureConnection connection = JdbcFixtures.connection()
+                .on(HiveSysViewsReader.DATABASES_QUERY, List.of("NAME"), new Object[]{"sales"})
+                .on(HiveSysViewsReader.PARTITION_KEYS_QUERY, List.of("NAME", "TBL_NAME", "PKEY_NAME", "PKEY_TYPE", "PKEY_COMMENT"))
+                .on(HiveSysViewsReader.COLUMNS_QUERY, COLUMNS,
+                        new Object[]{"sales", "orders", "MANAGED_TABLE", "hive", null, null, null, "id", "bigint", null},
+                        new Object[]{"sales", "order_items", "MANAGED_TABLE", "hive", null, null, null, "id", "bigint", null});
+
+        assertThrows(SQLException.class, () ->
+                new HiveSysViewsReader(null).read(connection.get(), databaseName -> {}, table -> {}));
+    }
+}
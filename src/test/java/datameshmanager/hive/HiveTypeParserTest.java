@@ -0,0 +1,94 @@
+package datameshmanager.hive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HiveTypeParserTest {
+
+    private final HiveTypeParser parser = new HiveTypeParser(100);
+
+    @Test
+    void testParse_primitives() {
+        assertEquals(HiveType.Category.PRIMITIVE, parser.parse("string").category());
+        assertEquals("decimal(10,2)", parser.parse("DECIMAL(10, 2)").typeName());
+        assertTrue(parser.parse("bigint").nestedColumns().isEmpty());
+    }
+
+    @Test
+    void testParse_nestedTypes() {
+        // When
+        HiveType type = parser.parse("struct<id:bigint,user:struct<name:string,emails:array<string>>,attrs:map<string,int>>");
+
+        // Then
+        assertEquals(HiveType.Category.STRUCT, type.category());
+        assertEquals(List.of("id", "user", "attrs"), type.fields().stream().map(HiveType.Field::name).toList());
+        assertEquals(List.of(
+                new ColumnDescription("id", "bigint", null),
+                new ColumnDescription("user", "struct<name:string,emails:array<string>>", null),
+                new ColumnDescription("user.name", "string", null),
+                new ColumnDescription("user.emails", "array<string>", null),
+                new ColumnDescription("user.emails.element", "string", null),
+                new ColumnDescription("attrs", "map<string,int>", null),
+                new ColumnDescription("attrs.key", "string", null),
+                new ColumnDescription("attrs.value", "int", null)
+        ), type.nestedColumns());
+    }
+
+    @Test
+    void testParse_arrayOfStructsAndUnion() {
+        HiveType type = parser.parse("array<struct<x:double,y:uniontype<int,string>>>");
+
+        assertEquals(HiveType.Category.ARRAY, type.category());
+        assertEquals(List.of("element", "element.x", "element.y", "element.y.member0", "element.y.member1"),
+                type.nestedColumns().stream().map(ColumnDescription::name).toList());
+    }
+
+    @Test
+    void testParse_impalaFormatWithCommentsAndQuotedNames() {
+        // When
+        HiveType type = parser.parse("STRUCT<\n  `event id`:BIGINT COMMENT 'the id, unique',\n  payload:MAP<STRING,STRING> comment \"raw\"\n>");
+
+        // Then
+        assertEquals("struct<event id:bigint,payload:map<string,string>>", type.typeName());
+        assertEquals("the id, unique", type.fields().get(0).comment());
+        assertEquals("raw", type.fields().get(1).comment());
+    }
+
+    @Test
+    void testParse_memoizesByTypeString() {
+        // When
+        HiveType first = parser.parse("struct<a:int>");
+        HiveType second = parser.parse("struct<a:int>");
+
+        // Then
+        assertSame(first, second);
+        assertEquals(1, parser.getMisses());
+        assertEquals(1, parser.getHits());
+    }
+
+    @Test
+    void testParse_cacheIsBounded() {
+        // Given
+        HiveTypeParser smallParser = new HiveTypeParser(2);
+        HiveType first = smallParser.parse("array<int>");
+
+        // When
+        smallParser.parse("array<string>");
+        smallParser.parse("array<double>");
+
+        // Then
+        assertEquals(2, smallParser.getCacheSize());
+        assertNotSame(first, smallParser.parse("array<int>"));
+    }
+
+    @Test
+    void testParse_malformed() {
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("struct<a:int"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("map<string>"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("array<int>>"));
+        assertThrows(IllegalArgumentException.class, () -> parser.parse("struct<a:int comment 'x>"));
+    }
+}
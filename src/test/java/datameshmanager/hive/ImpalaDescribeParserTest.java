@@ -0,0 +1,97 @@
+package datameshmanager.hive;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ImpalaDescribeParserTest {
+
+    private static final List<String> LABELS = List.of("name", "type", "comment");
+
+    @Test
+    void testParse_describe() throws Exception {
+        // Given the output of a plain DESCRIBE
+        ResultSet rs = JdbcFixtures.resultSet(LABELS,
+                new Object[]{"id", "bigint", ""},
+                new Object[]{"name", "string", "display name"});
+
+        // When
+        TableDescription table = new ImpalaDescribeParser(DetailedTableInfoLimit.UNLIMITED).parse("sales", "orders", rs);
+
+        // Then
+        assertEquals(List.of(
+                new ColumnDescription("id", "bigint", null),
+                new ColumnDescription("name", "string", "display name")), table.columns());
+        assertNull(table.detailedTableInfo());
+        assertNull(table.detailedTableInfoFields());
+    }
+
+    @Test
+    void testParse_describeFormatted() throws Exception {
+        // Given the output of DESCRIBE FORMATTED
+        ResultSet rs = describeFormatted();
+
+        // When
+        TableDescription table = new ImpalaDescribeParser(DetailedTableInfoLimit.UNLIMITED).parse("sales", "orders", rs);
+
+        // Then the partition column is listed once
+        assertEquals(List.of(
+                new ColumnDescription("id", "bigint", null),
+                new ColumnDescription("name", "string", "display name"),
+                new ColumnDescription("dt", "string", null)), table.columns());
+        Map<String, Object> fields = table.detailedTableInfoFields();
+        assertEquals("sales", fields.get("Database"));
+        assertEquals("hdfs://nn/warehouse/sales.db/orders", fields.get("Location"));
+        assertEquals("MANAGED_TABLE", fields.get("Table Type"));
+        assertEquals(Map.of("numRows", "42", "transient_lastDdlTime", "1700000000"), fields.get("Table Parameters"));
+        assertEquals("org.apache.hadoop.hive.ql.io.parquet.serde.ParquetHiveSerDe", fields.get("SerDe Library"));
+        assertEquals(Map.of("serialization.format", "1"), fields.get("Storage Desc Params"));
+        assertFalse(table.detailedTableInfo().startsWith("# Detailed Table Information"));
+        assertTrue(table.detailedTableInfo().contains("Location:\thdfs://nn/warehouse/sales.db/orders\t\n"));
+        assertFalse(table.detailedTableInfoTruncated());
+    }
+
+    @Test
+    void testParse_truncatesDetailedInformation() throws Exception {
+        TableDescription table = new ImpalaDescribeParser(new DetailedTableInfoLimit(30))
+                .parse("sales", "orders", describeFormatted());
+
+        assertEquals(30, table.detailedTableInfo().length());
+        assertTrue(table.detailedTableInfoTruncated());
+        // the fields end where the raw form was cut
+        assertEquals(Map.of("Database", "sales"), table.detailedTableInfoFields());
+        assertEquals(3, table.columns().size());
+    }
+
+    static ResultSet describeFormatted() {
+        return JdbcFixtures.resultSet(LABELS,
+                new Object[]{"# col_name", "data_type", "comment"},
+                new Object[]{"", null, null},
+                new Object[]{"id", "bigint", null},
+                new Object[]{"name", "string", "display name"},
+                new Object[]{"dt", "string", null},
+                new Object[]{"", null, null},
+                new Object[]{"# Partition Information", null, null},
+                new Object[]{"# col_name", "data_type", "comment"},
+                new Object[]{"", null, null},
+                new Object[]{"dt", "string", null},
+                new Object[]{"", null, null},
+                new Object[]{"# Detailed Table Information", null, null},
+                new Object[]{"Database:", "sales", null},
+                new Object[]{"OwnerType:", "USER", null},
+                new Object[]{"Location:", "hdfs://nn/warehouse/sales.db/orders", null},
+                new Object[]{"Table Type:", "MANAGED_TABLE", null},
+                new Object[]{"Table Parameters:", null, null},
+                new Object[]{"", "numRows", "42"},
+                new Object[]{"", "transient_lastDdlTime", "1700000000"},
+                new Object[]{"", null, null},
+                new Object[]{"# Storage Information", null, null},
+                new Object[]{"SerDe Library:", "org.apache.hadoop.hive.ql.io.parquet.serde.ParquetHiveSerDe", null},
+                new Object[]{"Storage Desc Params:", null, null},
+                new Object[]{"", "serialization.format", "1"});
+    }
+}
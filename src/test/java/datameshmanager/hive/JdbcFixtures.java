@@ -0,0 +1,269 @@
+package datameshmanager.hive;
+
+import java.io.StringReader;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.Driver;
+import java.sql.DriverManager;
+import java.sql.DriverPropertyInfo;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+
+/**
+ * In-memory JDBC objects answering fixed rows, for tests of the parsers and the supplier
+ * without a Hive server.
+ */
+final class JdbcFixtures {
+
+    private JdbcFixtures() {
+    }
+
+    /**
+     * A result set with the given column labels and rows.
+     */
+    static ResultSet resultSet(List<String> labels, Object[]... rows) {
+        return resultSet(labels, false, rows);
+    }
+
+    /**
+     * A result set that also serves its values as character streams, like drivers with CLOB support.
+     */
+    static ResultSet resultSetWithCharacterStreams(List<String> labels, Object[]... rows) {
+        return resultSet(labels, true, rows);
+    }
+
+    /**
+     * A result set with a single column, one row per line.
+     */
+    static ResultSet lines(String... lines) {
+        return resultSet(List.of("line"), Arrays.stream(lines).map(line -> new Object[]{line}).toArray(Object[][]::new));
+    }
+
+    private static ResultSet resultSet(List<String> labels, boolean characterStreams, Object[]... rows) {
+        int[] row = {-1};
+        boolean[] wasNull = {false};
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "next":
+                    return ++row[0] < rows.length;
+                case "close":
+                    return null;
+                case "wasNull":
+                    return wasNull[0];
+                case "findColumn":
+                    return index(labels, (String) args[0]) + 1;
+                case "getString":
+                case "getObject": {
+                    Object value = rows[row[0]][column(labels, args[0])];
+                    wasNull[0] = value == null;
+                    return value != null && method.getName().equals("getString") ? value.toString() : value;
+                }
+                case "getInt": {
+                    Object value = rows[row[0]][column(labels, args[0])];
+                    wasNull[0] = value == null;
+                    return value != null ? ((Number) value).intValue() : 0;
+                }
+                case "getCharacterStream": {
+                    if (!characterStreams) {
+                        throw new SQLFeatureNotSupportedException("Method not supported");
+                    }
+                    Object value = rows[row[0]][column(labels, args[0])];
+                    return value != null ? new StringReader(value.toString()) : null;
+                }
+                default:
+                    throw new UnsupportedOperationException("ResultSet." + method.getName());
+            }
+        };
+        return (ResultSet) Proxy.newProxyInstance(JdbcFixtures.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class}, handler);
+    }
+
+    private static int column(List<String> labels, Object column) throws SQLException {
+        return column instanceof Integer index ? index - 1 : index(labels, (String) column);
+    }
+
+    private static int index(List<String> labels, String label) throws SQLException {
+        for (int i = 0; i < labels.size(); i++) {
+            if (labels.get(i).equalsIgnoreCase(label)) {
+                return i;
+            }
+        }
+        throw new SQLException("Unknown column " + label);
+    }
+
+    static FixtureConnection connection() {
+        return new FixtureConnection();
+    }
+
+    @FunctionalInterface
+    interface Answer {
+        ResultSet answer() throws SQLException;
+    }
+
+    /**
+     * A connection answering queries by their prefix, in registration order. Other queries fail
+     * like unsupported statements.
+     */
+    static class FixtureConnection {
+
+        private final Map<String, Answer> answers = new LinkedHashMap<>();
+        private final List<String> executed = new ArrayList<>();
+        private String productName = "Apache Hive";
+
+        FixtureConnection on(String queryPrefix, List<String> labels, Object[]... rows) {
+            answers.put(queryPrefix, () -> resultSet(labels, rows));
+            return this;
+        }
+
+        FixtureConnection on(String queryPrefix, Answer answer) {
+            answers.put(queryPrefix, answer);
+            return this;
+        }
+
+        FixtureConnection fail(String queryPrefix) {
+            answers.put(queryPrefix, () -> {
+                throw new SQLException("Error while compiling statement: " + queryPrefix);
+            });
+            return this;
+        }
+
+        FixtureConnection productName(String productName) {
+            this.productName = productName;
+            return this;
+        }
+
+        /**
+         * @return the statements executed so far, in order
+         */
+        synchronized List<String> executed() {
+            return new ArrayList<>(executed);
+        }
+
+        private synchronized ResultSet execute(String query) throws SQLException {
+            executed.add(query);
+            for (Map.Entry<String, Answer> entry : answers.entrySet()) {
+                if (query.startsWith(entry.getKey())) {
+                    return entry.getValue().answer();
+                }
+            }
+            throw new SQLException("Unsupported statement: " + query);
+        }
+
+        Connection get() {
+            InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+                case "prepareStatement" -> statement((String) args[0]);
+                case "getMetaData" -> metaData();
+                case "close" -> null;
+                case "isClosed" -> false;
+                default -> throw new UnsupportedOperationException("Connection." + method.getName());
+            };
+            return (Connection) Proxy.newProxyInstance(JdbcFixtures.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, handler);
+        }
+
+        private PreparedStatement statement(String query) {
+            InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+                case "executeQuery" -> execute(query);
+                case "execute" -> {
+                    execute(query);
+                    yield true;
+                }
+                case "setFetchSize", "setInt", "setString", "close" -> null;
+                default -> throw new UnsupportedOperationException("PreparedStatement." + method.getName());
+            };
+            return (PreparedStatement) Proxy.newProxyInstance(JdbcFixtures.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, handler);
+        }
+
+        private DatabaseMetaData metaData() {
+            InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+                case "getDatabaseProductName" -> productName;
+                case "getDatabaseProductVersion" -> "4.1.0";
+                case "getURL" -> "jdbc:fixture:";
+                default -> throw new UnsupportedOperationException("DatabaseMetaData." + method.getName());
+            };
+            return (DatabaseMetaData) Proxy.newProxyInstance(JdbcFixtures.class.getClassLoader(),
+                    new Class<?>[]{DatabaseMetaData.class}, handler);
+        }
+    }
+
+    /**
+     * A JDBC driver for URLs "jdbc:fixture:name", connecting to the fixture registered under that name.
+     * Configure the supplier with this class as driver class name.
+     */
+    public static class FixtureDriver implements Driver {
+
+        private static final String PREFIX = "jdbc:fixture:";
+        private static final Map<String, FixtureConnection> connections = new ConcurrentHashMap<>();
+
+        static {
+            try {
+                DriverManager.registerDriver(new FixtureDriver());
+            } catch (SQLException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        /**
+         * @return the JDBC URL of the fixture
+         */
+        static String register(String name, FixtureConnection connection) {
+            connections.put(name, connection);
+            return PREFIX + name;
+        }
+
+        @Override
+        public Connection connect(String url, Properties info) throws SQLException {
+            if (!acceptsURL(url)) {
+                return null;
+            }
+            FixtureConnection connection = connections.get(url.substring(PREFIX.length()));
+            if (connection == null) {
+                throw new SQLException("No fixture registered for " + url);
+            }
+            return connection.get();
+        }
+
+        @Override
+        public boolean acceptsURL(String url) {
+            return url != null && url.startsWith(PREFIX);
+        }
+
+        @Override
+        public DriverPropertyInfo[] getPropertyInfo(String url, Properties info) {
+            return new DriverPropertyInfo[0];
+        }
+
+        @Override
+        public int getMajorVersion() {
+            return 1;
+        }
+
+        @Override
+        public int getMinorVersion() {
+            return 0;
+        }
+
+        @Override
+        public boolean jdbcCompliant() {
+            return false;
+        }
+
+        @Override
+        public Logger getParentLogger() {
+            return Logger.getGlobal();
+        }
+    }
+}
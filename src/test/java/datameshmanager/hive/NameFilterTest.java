@@ -0,0 +1,50 @@
+package datameshmanager.hive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameFilterTest {
+
+    @Test
+    void testMatches_withoutPatterns() {
+        NameFilter filter = NameFilter.of(null, List.of());
+
+        assertTrue(filter.matches("anything"));
+        assertNull(filter.likePattern());
+    }
+
+    @Test
+    void testMatches_withGlobs() {
+        NameFilter filter = NameFilter.of(List.of("sales_*", "finance"), List.of("*_tmp", "sales_scratch?"));
+
+        assertTrue(filter.matches("sales_orders"));
+        assertTrue(filter.matches("FINANCE"));
+        assertFalse(filter.matches("marketing"));
+        assertFalse(filter.matches("sales_orders_tmp"));
+        assertFalse(filter.matches("sales_scratch1"));
+        assertTrue(filter.matches("sales_scratch12"));
+    }
+
+    @Test
+    void testMatches_withRegex() {
+        NameFilter filter = NameFilter.of(List.of(), List.of("regex:tmp_\\d+", "a.b"));
+
+        assertFalse(filter.matches("tmp_123"));
+        assertTrue(filter.matches("tmp_abc"));
+        // globs are literal apart from their wildcards
+        assertFalse(filter.matches("a.b"));
+        assertTrue(filter.matches("axb"));
+    }
+
+    @Test
+    void testLikePattern() {
+        assertEquals("sales_*|finance", NameFilter.of(List.of("sales_*", " finance "), null).likePattern());
+        // ? and regular expressions cannot be pushed down, and excludes never are
+        assertNull(NameFilter.of(List.of("sales_?"), null).likePattern());
+        assertNull(NameFilter.of(List.of("regex:sales_.*"), null).likePattern());
+        assertNull(NameFilter.of(null, List.of("tmp_*")).likePattern());
+    }
+}
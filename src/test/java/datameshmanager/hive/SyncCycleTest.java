@@ -0,0 +1,100 @@
+package datameshmanager.hive;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyncCycleTest {
+
+    @Test
+    void testIsCompleted_withoutCheckpoint() {
+        SyncCycle cycle = new SyncCycle(null, null);
+
+        assertFalse(cycle.isCompleted("sales"));
+        assertFalse(cycle.isCompleted("sales", "orders"));
+    }
+
+    @Test
+    void testIsCompleted_resumesAfterCheckpoint() {
+        SyncCycle cycle = new SyncCycle(null, new SyncCycle.Checkpoint("sales", "orders"));
+
+        assertTrue(cycle.isCompleted("finance"));
+        assertTrue(cycle.isCompleted("finance", "invoices"));
+        assertFalse(cycle.isCompleted("sales"));
+        assertTrue(cycle.isCompleted("sales", "customers"));
+        assertTrue(cycle.isCompleted("sales", "orders"));
+        assertFalse(cycle.isCompleted("sales", "products"));
+        assertFalse(cycle.isCompleted("scratch", "anything"));
+    }
+
+    @Test
+    void testIsCompleted_databaseCheckpoint() {
+        SyncCycle cycle = new SyncCycle(null, new SyncCycle.Checkpoint("sales", null));
+
+        assertTrue(cycle.isCompleted("finance", "invoices"));
+        assertFalse(cycle.isCompleted("sales", "customers"));
+    }
+
+    @Test
+    void testProgress() {
+        // Given
+        SyncCycle cycle = new SyncCycle(null, new SyncCycle.Checkpoint("sales", "orders"));
+
+        // When
+        cycle.databaseStarted("sales");
+
+        // Then the checkpoint within the resumed database is kept
+        assertEquals(new SyncCycle.Checkpoint("sales", "orders"), cycle.getProgress());
+
+        // When
+        cycle.tableCompleted("sales", "products");
+        cycle.databaseStarted("scratch");
+
+        // Then
+        assertEquals(new SyncCycle.Checkpoint("scratch", null), cycle.getProgress());
+    }
+
+    @Test
+    void testCheckContinue() throws Exception {
+        SyncCycle unlimited = new SyncCycle(null, null);
+        unlimited.checkContinue();
+        unlimited.cancel();
+        assertThrows(SyncCycle.Stopped.class, unlimited::checkContinue);
+
+        SyncCycle limited = new SyncCycle(Duration.ofMillis(1), null);
+        Thread.sleep(5);
+        assertTrue(limited.isExpired());
+        assertFalse(limited.isCancelled());
+        assertThrows(SyncCycle.Stopped.class, limited::checkContinue);
+    }
+
+    @Test
+    void testCheckpointState() {
+        // Given
+        Map<String, Object> state = new HashMap<>(Map.of("lastUpdatedAt", 42L));
+
+        // When
+        new SyncCycle.Checkpoint("sales", "orders").toState(state);
+
+        // Then
+        assertEquals(new SyncCycle.Checkpoint("sales", "orders"), SyncCycle.Checkpoint.fromState(state));
+        assertEquals(42L, state.get("lastUpdatedAt"));
+
+        // When
+        new SyncCycle.Checkpoint("sales", null).toState(state);
+
+        // Then
+        assertEquals(new SyncCycle.Checkpoint("sales", null), SyncCycle.Checkpoint.fromState(state));
+
+        // When
+        SyncCycle.Checkpoint.clearState(state);
+
+        // Then
+        assertNull(SyncCycle.Checkpoint.fromState(state));
+        assertEquals(Map.of("lastUpdatedAt", 42L), state);
+    }
+}
@@ -0,0 +1,87 @@
+package datameshmanager.hive;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyncProfileTest {
+
+    @Test
+    void testReport_keepsSlowestTables() {
+        // Given
+        SyncProfile profile = new SyncProfile(2);
+
+        // When
+        profile.recordDescribe("db.fast", TimeUnit.MILLISECONDS.toNanos(5));
+        profile.recordDescribe("db.slowest", TimeUnit.MILLISECONDS.toNanos(300));
+        profile.recordDescribe("db.slow", TimeUnit.MILLISECONDS.toNanos(200));
+        profile.recordDescribe("db.medium", TimeUnit.MILLISECONDS.toNanos(50));
+
+        // Then
+        SyncProfile.Report report = profile.report();
+        assertEquals(4L, report.tables());
+        assertEquals(555L, report.phases().jdbcMillis());
+        assertEquals(0L, report.phases().metastoreMillis());
+        assertEquals(List.of(
+                new SyncProfile.SlowTable("db.slowest", 300),
+                new SyncProfile.SlowTable("db.slow", 200)), report.slowestTables());
+    }
+
+    @Test
+    void testReport_recordsMetastoreTimeSeparately() {
+        SyncProfile profile = new SyncProfile(0);
+
+        profile.recordMetastore(TimeUnit.MILLISECONDS.toNanos(40));
+        profile.recordJdbc(TimeUnit.MILLISECONDS.toNanos(7));
+
+        SyncProfile.Phases phases = profile.report().phases();
+        assertEquals(40L, phases.metastoreMillis());
+        assertEquals(7L, phases.jdbcMillis());
+    }
+
+    @Test
+    void testReport_capsListsButNotCounts() {
+        // Given
+        SyncProfile profile = new SyncProfile(0);
+
+        // When
+        for (int i = 0; i < SyncProfile.MAX_LISTED_TABLES + 5; i++) {
+            profile.recordParseFailure("db.table" + i);
+        }
+        profile.recordFallback("db.broken: DESCRIBE failed");
+
+        // Then
+        SyncProfile.Report report = profile.report();
+        assertEquals(SyncProfile.MAX_LISTED_TABLES + 5, report.parseFailureCount());
+        assertEquals(SyncProfile.MAX_LISTED_TABLES, report.parseFailures().size());
+        assertEquals(List.of("db.broken: DESCRIBE failed"), report.fallbacks());
+        assertTrue(report.slowestTables().isEmpty());
+    }
+
+    @Test
+    void testProfiler_keepsHistoryNewestFirst() {
+        // Given
+        SyncProfiler profiler = new SyncProfiler(2, 5);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            SyncProfile profile = profiler.startCycle();
+            profile.recordTable();
+            profile.recordTable();
+            if (i == 2) {
+                profile.recordTable();
+            }
+            profiler.completeCycle(profile);
+        }
+
+        // Then
+        assertNull(profiler.getCurrent());
+        List<SyncProfile.Report> completed = profiler.getCompleted();
+        assertEquals(2, completed.size());
+        assertEquals(3L, completed.get(0).tables());
+        assertNotNull(completed.get(0).finishedAt());
+    }
+}
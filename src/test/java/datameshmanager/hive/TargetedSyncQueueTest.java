@@ -0,0 +1,38 @@
+package datameshmanager.hive;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TargetedSyncQueueTest {
+
+    @Test
+    void testParseTarget() {
+        assertEquals(new SyncTarget("sales", null), SyncTarget.parse(" sales "));
+        assertEquals(new SyncTarget("sales", "orders"), SyncTarget.parse("sales.orders"));
+        assertEquals(new SyncTarget("sales", "orders"), SyncTarget.parse("Sales.ORDERS"));
+        assertThrows(IllegalArgumentException.class, () -> SyncTarget.parse("sales."));
+        assertThrows(IllegalArgumentException.class, () -> SyncTarget.parse("a.b.c"));
+    }
+
+    @Test
+    void testRequest_coalescesTargets() {
+        // Given - a debounce long enough that nothing runs during the test
+        TargetedSyncQueue queue = new TargetedSyncQueue(null, null, Duration.ofHours(1));
+        try {
+            // When
+            queue.request(List.of(SyncTarget.parse("sales.orders"), SyncTarget.parse("finance.invoices")));
+            queue.request(List.of(SyncTarget.parse("Sales.Orders"), SyncTarget.parse("SALES")));
+            List<SyncTarget> pending = queue.request(List.of(SyncTarget.parse("sales.customers")));
+
+            // Then - duplicates are dropped and the database covers its tables
+            assertEquals(List.of(SyncTarget.parse("finance.invoices"), SyncTarget.parse("sales")), pending);
+            assertEquals(pending, queue.getPending());
+        } finally {
+            queue.stop();
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package datameshmanager.hive;
+
+import org.apache.hadoop.hive.metastore.api.FieldSchema;
+import org.apache.hadoop.hive.metastore.api.GetTablesRequest;
+import org.apache.hadoop.hive.metastore.api.GetTablesResult;
+import org.apache.hadoop.hive.metastore.api.StorageDescriptor;
+import org.apache.hadoop.hive.metastore.api.Table;
+import org.apache.hadoop.hive.metastore.api.ThriftHiveMetastore;
+import org.apache.thrift.TException;
+import org.apache.thrift.server.TServer;
+import org.apache.thrift.server.TSimpleServer;
+import org.apache.thrift.transport.TServerSocket;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.net.ServerSocket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the client against an in-process Thrift server with the generated metastore processor,
+ * so the calls are serialized like against a real metastore.
+ */
+class ThriftHiveMetastoreClientTest {
+
+    private final Map<String, List<Table>> tablesByDatabase = new LinkedHashMap<>();
+    private final List<List<String>> batches = new ArrayList<>();
+
+    private TServer server;
+    private Thread serverThread;
+    private int port;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        tablesByDatabase.put("sales", List.of(table("customers"), table("orders"), table("products")));
+        tablesByDatabase.put("finance", List.of(table("invoices")));
+
+        TServerSocket serverTransport = new TServerSocket(0);
+        port = serverTransport.getServerSocket().getLocalPort();
+        server = new TSimpleServer(new TServer.Args(serverTransport)
+                .processor(new ThriftHiveMetastore.Processor<>(metastore())));
+        serverThread = new Thread(server::serve, "test-metastore");
+        serverThread.start();
+        for (int i = 0; i < 500 && !server.isServing(); i++) {
+            Thread.sleep(10);
+        }
+    }
+
+    @AfterEach
+    void stopServer() throws Exception {
+        server.stop();
+        serverThread.join(5000);
+    }
+
+    @Test
+    void testCalls() throws Exception {
+        try (ThriftHiveMetastoreClient client = new ThriftHiveMetastoreClient("localhost", port, Duration.ofSeconds(5))) {
+            assertEquals(List.of("sales", "finance"), client.getAllDatabases());
+            assertEquals(List.of("customers", "orders", "products"), client.getAllTables("sales"));
+
+            List<Table> tables = client.getTableObjectsByName("sales", List.of("orders"));
+            assertEquals(1, tables.size());
+            Table orders = tables.get(0);
+            assertEquals("orders", orders.getTableName());
+            assertEquals("hdfs://namenode/warehouse/sales.db/orders", orders.getSd().getLocation());
+            assertEquals("decimal(10,2)", orders.getSd().getCols().get(1).getType());
+            assertEquals(Map.of("numRows", "42"), orders.getParameters());
+        }
+    }
+
+    @Test
+    void testRead() throws Exception {
+        // Given
+        List<String> databases = new ArrayList<>();
+        List<TableDescription> tables = new ArrayList<>();
+
+        // When
+        try (ThriftHiveMetastoreClient client = new ThriftHiveMetastoreClient("localhost", port, Duration.ofSeconds(5))) {
+            new HiveMetastoreReader(2, DetailedTableInfoLimit.UNLIMITED).read(client,
+                    databaseName -> true,
+                    (databaseName, tableName) -> !tableName.equals("products"),
+                    databases::add,
+                    tables::add);
+        }
+
+        // Then
+        assertEquals(List.of("finance", "sales"), databases);
+        assertEquals(List.of("invoices", "customers", "orders"), tables.stream().map(TableDescription::tableName).toList());
+        assertEquals(List.of(List.of("invoices"), List.of("customers", "orders")), batches);
+        TableDescription orders = tables.get(2);
+        assertEquals("sales", orders.databaseName());
+        assertEquals(new ColumnDescription("amount", "decimal(10,2)", "order amount"), orders.columns().get(1));
+        assertEquals("hdfs://namenode/warehouse/sales.db/orders", orders.detailedTableInfoFields().get("location"));
+        assertEquals(Map.of("numRows", "42"), orders.detailedTableInfoFields().get("parameters"));
+    }
+
+    @Test
+    void testConnectionRefused() throws Exception {
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+
+        assertThrows(TException.class,
+                () -> new ThriftHiveMetastoreClient("localhost", closedPort, Duration.ofSeconds(1)));
+    }
+
+    /**
+     * The metastore, answering the three calls the client makes.
+     */
+    private ThriftHiveMetastore.Iface metastore() {
+        InvocationHandler handler = (proxy, method, args) -> switch (method.getName()) {
+            case "get_all_databases" -> new ArrayList<>(tablesByDatabase.keySet());
+            case "get_all_tables" -> tablesByDatabase.get((String) args[0]).stream().map(Table::getTableName).toList();
+            case "get_table_objects_by_name_req" -> {
+                GetTablesRequest request = (GetTablesRequest) args[0];
+                synchronized (batches) {
+                    batches.add(request.getTblNames());
+                }
+                yield new GetTablesResult(tablesByDatabase.get(request.getDbName()).stream()
+                        .filter(table -> request.getTblNames().contains(table.getTableName()))
+                        .toList());
+            }
+            default -> throw new UnsupportedOperationException(method.getName());
+        };
+        return (ThriftHiveMetastore.Iface) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{ThriftHiveMetastore.Iface.class}, handler);
+    }
+
+    private static Table table(String name) {
+        StorageDescriptor sd = new StorageDescriptor();
+        sd.setCols(List.of(new FieldSchema("id", "bigint", null), new FieldSchema("amount", "decimal(10,2)", "order amount")));
+        sd.setLocation("hdfs://namenode/warehouse/sales.db/" + name);
+        Table table = new Table();
+        table.setTableName(name);
+        table.setTableType("MANAGED_TABLE");
+        table.setOwner("hive");
+        table.setSd(sd);
+        table.setParameters(Map.of("numRows", "42"));
+        return table;
+    }
+}